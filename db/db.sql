@@ -4,15 +4,25 @@ CREATE TABLE USERS (
             age integer not null
 )
 
+CREATE SEQUENCE posts_id_seq INCREMENT BY 50
+
 CREATE TABLE POSTS (
-            id bigserial not null primary key,
+            id bigint not null primary key,
             post_text varchar(150) not null,
             dateTime timestamp,
             user_id bigint not null references USERS(id)
 )
 
+CREATE SEQUENCE followers_id_seq INCREMENT BY 50
+
 CREATE TABLE FOLLOWERS (
-    id bigserial not null primary key,
+    id bigint not null primary key,
     user_id bigint not null references USERS(id),
     follower_id bigint not null references USERS(id)
-)
\ No newline at end of file
+)
+
+CREATE INDEX idx_posts_user_datetime_id ON POSTS (user_id, dateTime DESC, id DESC)
+
+CREATE UNIQUE INDEX ux_followers_user_follower ON FOLLOWERS (user_id, follower_id)
+
+CREATE INDEX idx_followers_follower_user ON FOLLOWERS (follower_id, user_id)
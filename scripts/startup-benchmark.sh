@@ -0,0 +1,97 @@
+#!/usr/bin/env bash
+#
+# Measures time-to-first-request and resident memory of the JVM and native builds.
+#
+#   ./scripts/startup-benchmark.sh [runs]
+#
+# Expects a PostgreSQL instance reachable with the prod datasource settings (override with
+# QUARKUS_DATASOURCE_JDBC_URL and friends) and the artifacts built with:
+#
+#   ./mvnw package -DskipTests            # target/quarkus-app/quarkus-run.jar
+#   ./mvnw package -DskipTests -Dnative   # target/*-runner
+#
+# Set MAX_JVM_STARTUP_MS, MAX_NATIVE_STARTUP_MS, MAX_JVM_RSS_KB or MAX_NATIVE_RSS_KB to fail the
+# run when a median goes over budget. Results are written to target/startup-benchmark.json.
+
+set -euo pipefail
+
+RUNS="${1:-5}"
+PORT="${PORT:-8089}"
+URL="http://localhost:${PORT}/users?limit=1"
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+JVM_JAR="${ROOT}/target/quarkus-app/quarkus-run.jar"
+NATIVE_RUNNER="$(ls "${ROOT}"/target/*-runner 2>/dev/null | head -n 1 || true)"
+REPORT="${ROOT}/target/startup-benchmark.json"
+
+now_ms() {
+  date +%s%3N
+}
+
+median() {
+  sort -n | awk '{ values[NR] = $1 } END { print values[int((NR + 1) / 2)] }'
+}
+
+# Prints "<time-to-first-request ms> <rss kB>" for one start of the given command. The port goes
+# through the environment: after "java -jar" a -D flag would be an application argument.
+measure() {
+  local start pid elapsed rss
+  start=$(now_ms)
+  QUARKUS_HTTP_PORT="${PORT}" "$@" > /dev/null 2>&1 &
+  pid=$!
+  until curl -sf -o /dev/null "${URL}"; do
+    if ! kill -0 "${pid}" 2>/dev/null; then
+      echo "application exited before serving a request" >&2
+      exit 1
+    fi
+    sleep 0.005
+  done
+  elapsed=$(( $(now_ms) - start ))
+  rss=$(ps -o rss= -p "${pid}" | tr -d ' ')
+  kill "${pid}"
+  wait "${pid}" 2>/dev/null || true
+  echo "${elapsed} ${rss}"
+}
+
+# Runs one mode RUNS times and prints "<median ms> <median rss kB>".
+benchmark() {
+  local samples
+  samples=$(for _ in $(seq "${RUNS}"); do measure "$@"; done)
+  echo "$(echo "${samples}" | cut -d' ' -f1 | median) $(echo "${samples}" | cut -d' ' -f2 | median)"
+}
+
+check_budget() {
+  local name="$1" value="$2" budget="$3"
+  if [[ -n "${budget}" && "${value}" -gt "${budget}" ]]; then
+    echo "FAIL: ${name} ${value} exceeds budget ${budget}" >&2
+    FAILED=1
+  fi
+}
+
+FAILED=0
+RESULTS=()
+
+if [[ -f "${JVM_JAR}" ]]; then
+  read -r jvm_ms jvm_rss <<< "$(benchmark java -jar "${JVM_JAR}")"
+  echo "jvm:    time-to-first-request ${jvm_ms} ms, rss ${jvm_rss} kB (median of ${RUNS})"
+  RESULTS+=("\"jvm\": {\"timeToFirstRequestMs\": ${jvm_ms}, \"rssKb\": ${jvm_rss}}")
+  check_budget "jvm startup ms" "${jvm_ms}" "${MAX_JVM_STARTUP_MS:-}"
+  check_budget "jvm rss kB" "${jvm_rss}" "${MAX_JVM_RSS_KB:-}"
+else
+  echo "skipping jvm: ${JVM_JAR} not found" >&2
+fi
+
+if [[ -n "${NATIVE_RUNNER}" ]]; then
+  read -r native_ms native_rss <<< "$(benchmark "${NATIVE_RUNNER}")"
+  echo "native: time-to-first-request ${native_ms} ms, rss ${native_rss} kB (median of ${RUNS})"
+  RESULTS+=("\"native\": {\"timeToFirstRequestMs\": ${native_ms}, \"rssKb\": ${native_rss}}")
+  check_budget "native startup ms" "${native_ms}" "${MAX_NATIVE_STARTUP_MS:-}"
+  check_budget "native rss kB" "${native_rss}" "${MAX_NATIVE_RSS_KB:-}"
+else
+  echo "skipping native: no runner in target/" >&2
+fi
+
+mkdir -p "${ROOT}/target"
+(IFS=,; echo "{${RESULTS[*]}}") > "${REPORT}"
+echo "results written to ${REPORT}"
+
+exit "${FAILED}"
@@ -0,0 +1,37 @@
+package io.github.wellpereiradevs.quarkussocial.config;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+
+import javax.enterprise.inject.Produces;
+import javax.inject.Singleton;
+import java.time.Duration;
+
+public class MetricsConfiguration {
+
+    private static final String HTTP_SERVER_REQUESTS = "http.server.requests";
+
+    /**
+     * Publishes histogram buckets for every endpoint timer so p95/p99 can be aggregated
+     * across instances in Prometheus instead of being computed per pod.
+     */
+    @Produces
+    @Singleton
+    public MeterFilter httpServerHistograms() {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (!id.getName().equals(HTTP_SERVER_REQUESTS)) {
+                    return config;
+                }
+                return DistributionStatisticConfig.builder()
+                        .percentilesHistogram(true)
+                        .minimumExpectedValue(Duration.ofMillis(1).toNanos())
+                        .maximumExpectedValue(Duration.ofSeconds(10).toNanos())
+                        .build()
+                        .merge(config);
+            }
+        };
+    }
+}
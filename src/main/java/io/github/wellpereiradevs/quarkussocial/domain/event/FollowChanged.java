@@ -0,0 +1,10 @@
+package io.github.wellpereiradevs.quarkussocial.domain.event;
+
+import lombok.Value;
+
+@Value
+public class FollowChanged {
+    Long userId;
+    Long followerId;
+    boolean following;
+}
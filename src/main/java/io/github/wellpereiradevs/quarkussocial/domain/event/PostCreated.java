@@ -0,0 +1,13 @@
+package io.github.wellpereiradevs.quarkussocial.domain.event;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+@Value
+public class PostCreated {
+    Long postId;
+    Long userId;
+    String text;
+    LocalDateTime dateTime;
+}
@@ -0,0 +1,9 @@
+package io.github.wellpereiradevs.quarkussocial.domain.event;
+
+import lombok.Value;
+
+@Value
+public class UserChanged {
+    Long userId;
+    boolean deleted;
+}
@@ -0,0 +1,123 @@
+package io.github.wellpereiradevs.quarkussocial.domain.graph;
+
+import io.github.wellpereiradevs.quarkussocial.domain.event.FollowChanged;
+import io.github.wellpereiradevs.quarkussocial.domain.repository.FollowerRepository;
+import io.quarkus.runtime.StartupEvent;
+import org.jboss.logging.Logger;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.enterprise.event.TransactionPhase;
+import javax.inject.Inject;
+import javax.transaction.Transactional;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory copy of the {@code followers} table, kept as sorted primitive adjacency
+ * lists in both directions. It is loaded once at startup and then updated after
+ * every committed follow or unfollow. The loaded lists are built off to the side and
+ * only published into the shared maps once complete.
+ */
+@ApplicationScoped
+public class FollowGraph {
+
+    private static final Logger LOG = Logger.getLogger(FollowGraph.class);
+    private static final long[] EMPTY = new long[0];
+
+    private final Map<Long, SortedLongSet> following = new ConcurrentHashMap<>();
+    private final Map<Long, SortedLongSet> followers = new ConcurrentHashMap<>();
+
+    @Inject
+    FollowerRepository followerRepository;
+
+    @Transactional
+    void onStart(@Observes StartupEvent event) {
+        long start = System.nanoTime();
+        long[] edges = new long[1];
+        Map<Long, SortedLongSet> loadedFollowing = new HashMap<>();
+        Map<Long, SortedLongSet> loadedFollowers = new HashMap<>();
+        followerRepository.forEachEdge((followerId, userId) -> {
+            loadedFollowing.computeIfAbsent(followerId, id -> new SortedLongSet()).append(userId);
+            loadedFollowers.computeIfAbsent(userId, id -> new SortedLongSet()).append(followerId);
+            edges[0]++;
+        });
+        publish(following, loadedFollowing);
+        publish(followers, loadedFollowers);
+        LOG.infof("Loaded %d follow edges in %d ms", edges[0], (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Follows committed while loading may already have created a list; those keep their
+     * entries and get the loaded ones added.
+     */
+    private static void publish(Map<Long, SortedLongSet> shared, Map<Long, SortedLongSet> loaded) {
+        loaded.forEach((id, set) -> {
+            SortedLongSet existing = shared.putIfAbsent(id, set);
+            if (existing != null) {
+                for (long value : set.toArray()) {
+                    existing.add(value);
+                }
+            }
+        });
+    }
+
+    void onFollowChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) FollowChanged event) {
+        if (event.isFollowing()) {
+            add(event.getFollowerId(), event.getUserId());
+        } else {
+            remove(event.getFollowerId(), event.getUserId());
+        }
+    }
+
+    public boolean follows(long followerId, long userId) {
+        SortedLongSet followed = following.get(followerId);
+        if (followed == null) {
+            return false;
+        }
+        SortedLongSet userFollowers = followers.get(userId);
+        if (userFollowers == null) {
+            return false;
+        }
+        return followed.size() <= userFollowers.size()
+                ? followed.contains(userId)
+                : userFollowers.contains(followerId);
+    }
+
+    public long[] followerIds(long userId) {
+        SortedLongSet set = followers.get(userId);
+        return set == null ? EMPTY : set.toArray();
+    }
+
+    public long[] followingIds(long followerId) {
+        SortedLongSet set = following.get(followerId);
+        return set == null ? EMPTY : set.toArray();
+    }
+
+    public int followerCount(long userId) {
+        SortedLongSet set = followers.get(userId);
+        return set == null ? 0 : set.size();
+    }
+
+    public int followingCount(long followerId) {
+        SortedLongSet set = following.get(followerId);
+        return set == null ? 0 : set.size();
+    }
+
+    void add(long followerId, long userId) {
+        following.computeIfAbsent(followerId, id -> new SortedLongSet()).add(userId);
+        followers.computeIfAbsent(userId, id -> new SortedLongSet()).add(followerId);
+    }
+
+    void remove(long followerId, long userId) {
+        SortedLongSet followed = following.get(followerId);
+        if (followed != null) {
+            followed.remove(userId);
+        }
+        SortedLongSet userFollowers = followers.get(userId);
+        if (userFollowers != null) {
+            userFollowers.remove(followerId);
+        }
+    }
+}
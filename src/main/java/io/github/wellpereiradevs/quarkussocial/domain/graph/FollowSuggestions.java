@@ -0,0 +1,214 @@
+package io.github.wellpereiradevs.quarkussocial.domain.graph;
+
+import io.github.wellpereiradevs.quarkussocial.domain.event.FollowChanged;
+import lombok.Value;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import javax.annotation.Priority;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.enterprise.event.TransactionPhase;
+import javax.inject.Inject;
+import javax.interceptor.Interceptor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * "People you may know" over the in-memory {@link FollowGraph}. A candidate's score is the
+ * number of users the reader follows who follow the candidate, which is also the size of
+ * {@link #mutuals(long, long)} for that pair. Friends-of-friends are counted in a primitive
+ * counter, split across the fork/join pool for readers who follow many users. Ranked lists
+ * are cached per reader and dropped after every committed follow change that can affect them.
+ */
+@ApplicationScoped
+public class FollowSuggestions {
+
+    private static final Comparator<Suggestion> BEST_FIRST = Comparator
+            .comparingInt(Suggestion::getMutualCount).reversed()
+            .thenComparingLong(Suggestion::getUserId);
+
+    private FollowGraph followGraph;
+    private int cacheSize;
+    private int cachedSuggestions;
+    private int parallelThreshold;
+
+    private final Map<Long, Object> computing = new HashMap<>();
+    private Map<Long, List<Suggestion>> cache;
+
+    @Inject
+    public FollowSuggestions(FollowGraph followGraph,
+                             @ConfigProperty(name = "social.suggestions.cache-size", defaultValue = "10000") int cacheSize,
+                             @ConfigProperty(name = "social.suggestions.cached-per-user", defaultValue = "100") int cachedSuggestions,
+                             @ConfigProperty(name = "social.suggestions.parallel-threshold", defaultValue = "256") int parallelThreshold) {
+        this.followGraph = followGraph;
+        this.cacheSize = cacheSize;
+        this.cachedSuggestions = cachedSuggestions;
+        this.parallelThreshold = parallelThreshold;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, List<Suggestion>> eldest) {
+                return size() > FollowSuggestions.this.cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Runs after {@link FollowGraph} has applied the change. The follower's own suggestions
+     * change, and so do those of everyone who follows the follower, since the follower's
+     * followees are their friends-of-friends. Computations still running for those readers
+     * lose their ticket, so a ranking counted before the change is not cached.
+     */
+    void onFollowChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS)
+                         @Priority(Interceptor.Priority.APPLICATION + 600) FollowChanged event) {
+        long followerId = event.getFollowerId();
+        long[] affected = followGraph.followerIds(followerId);
+        synchronized (cache) {
+            cache.remove(followerId);
+            computing.remove(followerId);
+            for (long userId : affected) {
+                cache.remove(userId);
+                computing.remove(userId);
+            }
+        }
+    }
+
+    public List<Suggestion> suggest(long userId, int limit) {
+        List<Suggestion> cached;
+        Object ticket = new Object();
+        synchronized (cache) {
+            cached = cache.get(userId);
+            if (cached == null) {
+                computing.put(userId, ticket);
+            }
+        }
+        if (cached == null) {
+            cached = compute(userId, Math.max(limit, cachedSuggestions));
+            synchronized (cache) {
+                if (computing.remove(userId, ticket)) {
+                    cache.put(userId, cached);
+                }
+            }
+        }
+        return cached.size() > limit ? cached.subList(0, limit) : cached;
+    }
+
+    /**
+     * Users {@code userId} follows who also follow {@code otherId}, in id order.
+     */
+    public long[] mutuals(long userId, long otherId) {
+        return intersect(followGraph.followingIds(userId), followGraph.followerIds(otherId));
+    }
+
+    List<Suggestion> compute(long userId, int limit) {
+        long[] followed = followGraph.followingIds(userId);
+        if (followed.length == 0) {
+            return List.of();
+        }
+        LongCounter counts = followed.length >= parallelThreshold
+                ? ForkJoinPool.commonPool().invoke(new CountTask(followed, 0, followed.length))
+                : count(followed, 0, followed.length);
+
+        PriorityQueue<Suggestion> top = new PriorityQueue<>(limit + 1, BEST_FIRST.reversed());
+        counts.forEach((candidate, mutualCount) -> {
+            if (candidate == userId || Arrays.binarySearch(followed, candidate) >= 0) {
+                return;
+            }
+            top.add(new Suggestion(candidate, mutualCount));
+            if (top.size() > limit) {
+                top.poll();
+            }
+        });
+        List<Suggestion> ranked = new ArrayList<>(top);
+        ranked.sort(BEST_FIRST);
+        return List.copyOf(ranked);
+    }
+
+    private LongCounter count(long[] followed, int from, int to) {
+        LongCounter counts = new LongCounter(Math.min(1 << 16, (to - from) * 16));
+        for (int i = from; i < to; i++) {
+            for (long candidate : followGraph.followingIds(followed[i])) {
+                counts.increment(candidate, 1);
+            }
+        }
+        return counts;
+    }
+
+    static long[] intersect(long[] left, long[] right) {
+        long[] small = left.length <= right.length ? left : right;
+        long[] large = small == left ? right : left;
+        long[] result = new long[small.length];
+        int size = 0;
+        if (large.length > small.length * 8L) {
+            int from = 0;
+            for (long value : small) {
+                int position = Arrays.binarySearch(large, from, large.length, value);
+                if (position >= 0) {
+                    result[size++] = value;
+                    from = position + 1;
+                } else {
+                    from = -position - 1;
+                }
+            }
+        } else {
+            int i = 0;
+            int j = 0;
+            while (i < small.length && j < large.length) {
+                if (small[i] < large[j]) {
+                    i++;
+                } else if (small[i] > large[j]) {
+                    j++;
+                } else {
+                    result[size++] = small[i];
+                    i++;
+                    j++;
+                }
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    @Value
+    public static class Suggestion {
+        long userId;
+        int mutualCount;
+    }
+
+    private class CountTask extends RecursiveTask<LongCounter> {
+
+        private final long[] followed;
+        private final int from;
+        private final int to;
+
+        CountTask(long[] followed, int from, int to) {
+            this.followed = followed;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected LongCounter compute() {
+            if (to - from <= parallelThreshold) {
+                return count(followed, from, to);
+            }
+            int middle = (from + to) >>> 1;
+            CountTask right = new CountTask(followed, middle, to);
+            right.fork();
+            LongCounter left = new CountTask(followed, from, middle).compute();
+            LongCounter merged = right.join();
+            if (left.size() >= merged.size()) {
+                left.addAll(merged);
+                return left;
+            }
+            merged.addAll(left);
+            return merged;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package io.github.wellpereiradevs.quarkussocial.domain.graph;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Sorted {@code long[]} adjacency list. Lookups are a binary search under an
+ * optimistic read stamp, so readers never block each other or allocate.
+ */
+final class SortedLongSet {
+
+    private static final long[] EMPTY = new long[0];
+
+    private final StampedLock lock = new StampedLock();
+    private long[] values = EMPTY;
+    private int size;
+
+    boolean contains(long value) {
+        long stamp = lock.tryOptimisticRead();
+        long[] current = values;
+        int currentSize = Math.min(size, current.length);
+        boolean found = Arrays.binarySearch(current, 0, currentSize, value) >= 0;
+        if (lock.validate(stamp)) {
+            return found;
+        }
+
+        stamp = lock.readLock();
+        try {
+            return Arrays.binarySearch(values, 0, size, value) >= 0;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    boolean add(long value) {
+        long stamp = lock.writeLock();
+        try {
+            int position = Arrays.binarySearch(values, 0, size, value);
+            if (position >= 0) {
+                return false;
+            }
+            position = -position - 1;
+            long[] target = values;
+            if (size == values.length) {
+                target = new long[Math.max(4, size + (size >> 1))];
+                System.arraycopy(values, 0, target, 0, position);
+            }
+            System.arraycopy(values, position, target, position + 1, size - position);
+            target[position] = value;
+            values = target;
+            size++;
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    boolean remove(long value) {
+        long stamp = lock.writeLock();
+        try {
+            int position = Arrays.binarySearch(values, 0, size, value);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(values, position + 1, values, position, size - position - 1);
+            size--;
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Appends values that are already known to be larger than every element. Takes no lock:
+     * only {@link FollowGraph} calls it, on sets it has not published yet.
+     */
+    void append(long value) {
+        if (size > 0 && values[size - 1] >= value) {
+            add(value);
+            return;
+        }
+        if (size == values.length) {
+            values = Arrays.copyOf(values, Math.max(4, size + (size >> 1)));
+        }
+        values[size++] = value;
+    }
+
+    int size() {
+        long stamp = lock.tryOptimisticRead();
+        int currentSize = size;
+        if (lock.validate(stamp)) {
+            return currentSize;
+        }
+
+        stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    long[] toArray() {
+        long stamp = lock.readLock();
+        try {
+            return Arrays.copyOf(values, size);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package io.github.wellpereiradevs.quarkussocial.domain.model;
+
+import lombok.Value;
+
+@Value
+public class FollowEdge {
+    Long userId;
+    Long followerId;
+}
@@ -5,11 +5,14 @@ import lombok.Data;
 import javax.persistence.*;
 
 @Entity
-@Table(name = "followers")
+@Table(name = "followers",
+        uniqueConstraints = @UniqueConstraint(name = "ux_followers_user_follower", columnNames = {"user_id", "follower_id"}),
+        indexes = @Index(name = "idx_followers_follower_user", columnList = "follower_id, user_id"))
 @Data
 public class Follower {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "followers_seq")
+    @SequenceGenerator(name = "followers_seq", sequenceName = "followers_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -6,12 +6,15 @@ import javax.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "posts")
+@Table(name = "posts", indexes = {
+        @Index(name = "idx_posts_user_datetime_id", columnList = "user_id, dateTime desc, id desc")
+})
 @Data
 public class Post {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "posts_seq")
+    @SequenceGenerator(name = "posts_seq", sequenceName = "posts_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "post_text")
@@ -26,6 +29,8 @@ public class Post {
 
     @PrePersist
     public void prePersist() {
-        setDateTime(LocalDateTime.now());
+        if (getDateTime() == null) {
+            setDateTime(LocalDateTime.now());
+        }
     }
 }
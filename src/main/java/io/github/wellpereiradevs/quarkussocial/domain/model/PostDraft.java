@@ -0,0 +1,13 @@
+package io.github.wellpereiradevs.quarkussocial.domain.model;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+@Value
+public class PostDraft {
+    long line;
+    Long userId;
+    String text;
+    LocalDateTime dateTime;
+}
@@ -0,0 +1,23 @@
+package io.github.wellpereiradevs.quarkussocial.domain.model;
+
+import lombok.Data;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * Single row written on the primary and read back from the replica to measure replication lag.
+ */
+@Entity
+@Table(name = "replica_heartbeat")
+@Data
+public class ReplicaHeartbeat {
+
+    @Id
+    private Integer id;
+
+    @Column(name = "beat")
+    private Long beat;
+}
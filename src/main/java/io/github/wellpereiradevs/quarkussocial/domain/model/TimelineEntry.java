@@ -0,0 +1,30 @@
+package io.github.wellpereiradevs.quarkussocial.domain.model;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+
+/**
+ * Built by JPQL constructor expressions, so its constructor must stay reachable in native builds.
+ */
+@Value
+@RegisterForReflection
+public class TimelineEntry {
+
+    public static final Comparator<TimelineEntry> NEWEST_FIRST = Comparator
+            .comparing(TimelineEntry::getDateTime)
+            .thenComparing(TimelineEntry::getPostId)
+            .reversed();
+
+    Long postId;
+    Long userId;
+    String text;
+    LocalDateTime dateTime;
+
+    public boolean isOlderThan(LocalDateTime dateTime, Long postId) {
+        int compare = this.dateTime.compareTo(dateTime);
+        return compare < 0 || (compare == 0 && this.postId < postId);
+    }
+}
@@ -6,6 +6,7 @@ import javax.persistence.*;
 
 @Entity
 @Table(name = "users")
+@Cacheable
 @Data
 public class User {
 
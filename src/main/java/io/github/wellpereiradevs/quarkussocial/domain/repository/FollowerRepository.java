@@ -1,39 +1,389 @@
 package io.github.wellpereiradevs.quarkussocial.domain.repository;
 
+import io.github.wellpereiradevs.quarkussocial.domain.event.FollowChanged;
+import io.github.wellpereiradevs.quarkussocial.domain.graph.FollowGraph;
+import io.github.wellpereiradevs.quarkussocial.domain.model.FollowEdge;
 import io.github.wellpereiradevs.quarkussocial.domain.model.Follower;
 import io.github.wellpereiradevs.quarkussocial.domain.model.User;
-import io.quarkus.hibernate.orm.panache.PanacheQuery;
+import io.github.wellpereiradevs.quarkussocial.replica.ReadRouter;
+import io.github.wellpereiradevs.quarkussocial.rest.dto.FollowerResponse;
+import io.github.wellpereiradevs.quarkussocial.shard.Shards;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import io.quarkus.panache.common.Parameters;
+import org.hibernate.jpa.QueryHints;
+import org.hibernate.query.NativeQuery;
 
 import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Event;
+import javax.inject.Inject;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @ApplicationScoped
 public class FollowerRepository implements PanacheRepository<Follower> {
 
-    public boolean follows(User follower, User user) {
+    private static final int EDGE_FETCH_SIZE = 1000;
+    private static final int IN_CLAUSE_CHUNK = 500;
+    private static final Comparator<long[]> FOLLOWER_THEN_USER = Comparator
+            .<long[]>comparingLong(edge -> edge[0])
+            .thenComparingLong(edge -> edge[1]);
 
-        var params = Parameters.with("follower", follower).and("user", user).map();
+    @Inject
+    FollowGraph followGraph;
 
-        PanacheQuery<Follower> query = find("follower =:follower and user =:user", params);
-        Optional<Follower> result = query.firstResultOptional();
+    @Inject
+    Event<FollowChanged> followChanged;
 
-        return result.isPresent();
+    @Inject
+    ReadRouter readRouter;
+
+    @Inject
+    Shards shards;
+
+    @Override
+    public void persist(Follower follower) {
+        if (shards.isEnabled()) {
+            follower.setId(insertEdge(follower.getUser().getId(), follower.getFollower().getId()));
+            if (follower.getId() != null) {
+                fire(new FollowChanged(follower.getUser().getId(), follower.getFollower().getId(), true));
+            }
+            return;
+        }
+        getEntityManager().persist(follower);
+        fire(new FollowChanged(follower.getUser().getId(), follower.getFollower().getId(), true));
     }
 
-    public List<Follower> findByUser(Long userId) {
-        PanacheQuery<Follower> query = find("user.id", userId);
-        return query.list();
+    /**
+     * Single-statement idempotent follow. The unique index on {@code (user_id, follower_id)}
+     * makes concurrent retries collapse into one row. The query is synchronized on the
+     * followers table only, so it doesn't evict the rest of the second-level cache.
+     */
+    public boolean followIfAbsent(Long userId, Long followerId) {
+        if (shards.isEnabled()) {
+            if (insertEdge(userId, followerId) == null) {
+                return false;
+            }
+            fire(new FollowChanged(userId, followerId, true));
+            return true;
+        }
+        int inserted = getEntityManager()
+                .createNativeQuery("insert into followers (id, user_id, follower_id) "
+                        + "values (nextval('followers_id_seq'), ?1, ?2) on conflict do nothing")
+                .setParameter(1, userId)
+                .setParameter(2, followerId)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(Follower.class)
+                .executeUpdate();
+        if (inserted == 0) {
+            return false;
+        }
+        fire(new FollowChanged(userId, followerId, true));
+        return true;
+    }
+
+    /**
+     * Writes the edge to the followed user's shard, which draws the id, then copies it to the
+     * follower's shard. The two writes are separate commits; the first one is what every read
+     * of the user's followers sees.
+     *
+     * @return the edge id, or null when the edge already existed
+     */
+    private Long insertEdge(Long userId, Long followerId) {
+        Long id = shards.onShardOf(userId, connection -> {
+            long edgeId = Shards.nextId(connection, "followers_id_seq");
+            return insertEdge(connection, edgeId, userId, followerId) ? edgeId : null;
+        });
+        if (id != null && shards.shardOf(followerId) != shards.shardOf(userId)) {
+            shards.onShardOf(followerId, connection -> insertEdge(connection, id, userId, followerId));
+        }
+        return id;
+    }
+
+    private static boolean insertEdge(Connection connection, long id, Long userId, Long followerId) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "insert into followers (id, user_id, follower_id) values (?, ?, ?) on conflict do nothing")) {
+            statement.setLong(1, id);
+            statement.setLong(2, userId);
+            statement.setLong(3, followerId);
+            return statement.executeUpdate() > 0;
+        }
+    }
+
+    public List<FollowerResponse> findPageByUser(Long userId, Long afterId, int size) {
+        if (shards.isEnabled()) {
+            return findPageOnShards(userId, afterId, size);
+        }
+        String afterClause = afterId == null ? "" : "and f.id > :afterId ";
+        return readRouter.read(entityManager -> {
+            var query = entityManager
+                    .createQuery("select new " + FollowerResponse.class.getName() + "(f.id, f.follower.name) " +
+                            "from Follower f where f.user.id = :userId " +
+                            afterClause +
+                            "order by f.id", FollowerResponse.class)
+                    .setParameter("userId", userId)
+                    .setMaxResults(size);
+            if (afterId != null) {
+                query.setParameter("afterId", afterId);
+            }
+            return query.getResultList();
+        }, userId);
+    }
+
+    public int countByUser(Long userId) {
+        return followGraph.followerCount(userId);
+    }
+
+    /**
+     * When sharded, each shard hands out only the edges whose followed user it owns, so the
+     * copies kept for followers are not counted twice.
+     */
+    public void forEachEdge(EdgeConsumer consumer) {
+        if (shards.isEnabled()) {
+            shards.streamMerged("select follower_id, user_id from followers order by follower_id, user_id",
+                    EDGE_FETCH_SIZE, resultSet -> new long[]{resultSet.getLong(1), resultSet.getLong(2)},
+                    (shard, edge) -> shards.shardOf(edge[1]) == shard, FOLLOWER_THEN_USER,
+                    edge -> consumer.accept(edge[0], edge[1]));
+            return;
+        }
+        try (Stream<Object[]> rows = getEntityManager()
+                .createQuery("select f.follower.id, f.user.id from Follower f " +
+                        "order by f.follower.id, f.user.id", Object[].class)
+                .setHint(QueryHints.HINT_FETCH_SIZE, EDGE_FETCH_SIZE)
+                .getResultStream()) {
+            rows.forEach(row -> consumer.accept((Long) row[0], (Long) row[1]));
+        }
     }
 
     public void deleteByFollowAndUser(Long followerId, Long userId) {
+        if (shards.isEnabled()) {
+            String sql = "delete from followers where user_id = ? and follower_id = ?";
+            int deleted = shards.onShardOf(userId, connection -> executeUpdate(connection, sql, userId, followerId));
+            if (shards.shardOf(followerId) != shards.shardOf(userId)) {
+                shards.onShardOf(followerId, connection -> executeUpdate(connection, sql, userId, followerId));
+            }
+            if (deleted > 0) {
+                fire(new FollowChanged(userId, followerId, false));
+            }
+            return;
+        }
         var params = Parameters
                 .with("userId", userId)
                 .and("followerId", followerId)
                 .map();
-        delete("follower.id=:followerId and user.id=:userId", params);
+        long deleted = delete("follower.id=:followerId and user.id=:userId", params);
+        if (deleted > 0) {
+            fire(new FollowChanged(userId, followerId, false));
+        }
+    }
+
+    public Map<FollowEdge, Long> findEdgeIds(Collection<FollowEdge> edges) {
+        if (shards.isEnabled()) {
+            Map<Integer, List<FollowEdge>> byShard = shards.groupByShard(edges, FollowEdge::getUserId);
+            Map<FollowEdge, Long> found = new HashMap<>();
+            shards.scatter(byShard.keySet(), (shard, connection) -> findEdgeIds(connection, byShard.get(shard)))
+                    .forEach(found::putAll);
+            return found;
+        }
+        List<FollowEdge> list = new ArrayList<>(edges);
+        Map<FollowEdge, Long> found = new HashMap<>();
+        for (int from = 0; from < list.size(); from += IN_CLAUSE_CHUNK) {
+            Set<FollowEdge> chunk = new HashSet<>(list.subList(from, Math.min(list.size(), from + IN_CLAUSE_CHUNK)));
+            Set<Long> userIds = new HashSet<>();
+            Set<Long> followerIds = new HashSet<>();
+            for (FollowEdge edge : chunk) {
+                userIds.add(edge.getUserId());
+                followerIds.add(edge.getFollowerId());
+            }
+
+            List<Object[]> rows = getEntityManager()
+                    .createQuery("select f.id, f.user.id, f.follower.id from Follower f " +
+                            "where f.user.id in :userIds and f.follower.id in :followerIds", Object[].class)
+                    .setParameter("userIds", userIds)
+                    .setParameter("followerIds", followerIds)
+                    .getResultList();
+            for (Object[] row : rows) {
+                var edge = new FollowEdge((Long) row[1], (Long) row[2]);
+                if (chunk.contains(edge)) {
+                    found.put(edge, (Long) row[0]);
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Inserts the edges through the persistence context so Hibernate can group
+     * them into JDBC batches ({@code quarkus.hibernate-orm.jdbc.statement-batch-size}).
+     */
+    public void follow(Collection<FollowEdge> edges) {
+        if (shards.isEnabled()) {
+            for (FollowEdge edge : edges) {
+                followIfAbsent(edge.getUserId(), edge.getFollowerId());
+            }
+            return;
+        }
+        var entityManager = getEntityManager();
+        for (FollowEdge edge : edges) {
+            var follower = new Follower();
+            follower.setUser(entityManager.getReference(User.class, edge.getUserId()));
+            follower.setFollower(entityManager.getReference(User.class, edge.getFollowerId()));
+            persist(follower);
+        }
     }
 
+    public void unfollow(Map<FollowEdge, Long> edgeIds) {
+        if (shards.isEnabled()) {
+            // the owning rows first, then the followers' copies, which share their ids
+            deleteByIds(shards.groupByShard(edgeIds.keySet(), FollowEdge::getUserId), edgeIds);
+            deleteByIds(shards.groupByShard(edgeIds.keySet(), FollowEdge::getFollowerId), edgeIds);
+        } else {
+            List<Long> ids = new ArrayList<>(edgeIds.values());
+            for (int from = 0; from < ids.size(); from += IN_CLAUSE_CHUNK) {
+                delete("id in ?1", ids.subList(from, Math.min(ids.size(), from + IN_CLAUSE_CHUNK)));
+            }
+        }
+        for (FollowEdge edge : edgeIds.keySet()) {
+            fire(new FollowChanged(edge.getUserId(), edge.getFollowerId(), false));
+        }
+    }
+
+    private List<FollowerResponse> findPageOnShards(Long userId, Long afterId, int size) {
+        List<long[]> edges = shards.onShardOf(userId, connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "select id, follower_id from followers where user_id = ? " +
+                            (afterId == null ? "" : "and id > ? ") +
+                            "order by id limit " + size)) {
+                statement.setLong(1, userId);
+                if (afterId != null) {
+                    statement.setLong(2, afterId);
+                }
+                List<long[]> rows = new ArrayList<>();
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        rows.add(new long[]{resultSet.getLong(1), resultSet.getLong(2)});
+                    }
+                }
+                return rows;
+            }
+        });
+        if (edges.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Integer, List<Long>> byShard = shards.groupByShard(
+                edges.stream().map(edge -> edge[1]).collect(Collectors.toSet()), Long::longValue);
+        Map<Long, String> names = new HashMap<>();
+        shards.scatter(byShard.keySet(), (shard, connection) -> findNames(connection, byShard.get(shard)))
+                .forEach(names::putAll);
+
+        List<FollowerResponse> page = new ArrayList<>(edges.size());
+        for (long[] edge : edges) {
+            page.add(new FollowerResponse(edge[0], names.get(edge[1])));
+        }
+        return page;
+    }
+
+    private static Map<Long, String> findNames(Connection connection, List<Long> userIds) throws SQLException {
+        Map<Long, String> names = new HashMap<>();
+        try (PreparedStatement statement = connection.prepareStatement(
+                "select id, name from users where id in (" + Shards.parameters(userIds.size()) + ")")) {
+            for (int i = 0; i < userIds.size(); i++) {
+                statement.setLong(i + 1, userIds.get(i));
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    names.put(resultSet.getLong(1), resultSet.getString(2));
+                }
+            }
+        }
+        return names;
+    }
+
+    private static Map<FollowEdge, Long> findEdgeIds(Connection connection, List<FollowEdge> edges) throws SQLException {
+        Map<FollowEdge, Long> found = new HashMap<>();
+        for (int from = 0; from < edges.size(); from += IN_CLAUSE_CHUNK) {
+            Set<FollowEdge> chunk = new HashSet<>(edges.subList(from, Math.min(edges.size(), from + IN_CLAUSE_CHUNK)));
+            List<Long> userIds = new ArrayList<>();
+            List<Long> followerIds = new ArrayList<>();
+            for (FollowEdge edge : chunk) {
+                userIds.add(edge.getUserId());
+                followerIds.add(edge.getFollowerId());
+            }
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "select id, user_id, follower_id from followers " +
+                            "where user_id in (" + Shards.parameters(userIds.size()) + ") " +
+                            "and follower_id in (" + Shards.parameters(followerIds.size()) + ")")) {
+                int parameter = 1;
+                for (Long userId : userIds) {
+                    statement.setLong(parameter++, userId);
+                }
+                for (Long followerId : followerIds) {
+                    statement.setLong(parameter++, followerId);
+                }
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        var edge = new FollowEdge(resultSet.getLong(2), resultSet.getLong(3));
+                        if (chunk.contains(edge)) {
+                            found.put(edge, resultSet.getLong(1));
+                        }
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    private void deleteByIds(Map<Integer, List<FollowEdge>> byShard, Map<FollowEdge, Long> edgeIds) {
+        shards.scatter(byShard.keySet(), (shard, connection) -> {
+            List<FollowEdge> edges = byShard.get(shard);
+            for (int from = 0; from < edges.size(); from += IN_CLAUSE_CHUNK) {
+                List<FollowEdge> chunk = edges.subList(from, Math.min(edges.size(), from + IN_CLAUSE_CHUNK));
+                try (PreparedStatement statement = connection.prepareStatement(
+                        "delete from followers where id in (" + Shards.parameters(chunk.size()) + ")")) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        statement.setLong(i + 1, edgeIds.get(chunk.get(i)));
+                    }
+                    statement.executeUpdate();
+                }
+            }
+            return null;
+        });
+    }
+
+    private static int executeUpdate(Connection connection, String sql, Long userId, Long followerId) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, userId);
+            statement.setLong(2, followerId);
+            return statement.executeUpdate();
+        }
+    }
+
+    /**
+     * Sharded writes are already committed, so their events go out right away instead of
+     * waiting on a surrounding transaction that could still roll back.
+     */
+    private void fire(FollowChanged event) {
+        if (shards.isEnabled()) {
+            shards.fireCommitted(followChanged, event);
+        } else {
+            followChanged.fire(event);
+        }
+    }
+
+    @FunctionalInterface
+    public interface EdgeConsumer {
+        void accept(long followerId, long userId);
+    }
 }
@@ -1,10 +1,412 @@
 package io.github.wellpereiradevs.quarkussocial.domain.repository;
 
+import io.github.wellpereiradevs.quarkussocial.domain.event.PostCreated;
 import io.github.wellpereiradevs.quarkussocial.domain.model.Post;
+import io.github.wellpereiradevs.quarkussocial.domain.model.TimelineEntry;
+import io.github.wellpereiradevs.quarkussocial.domain.model.User;
+import io.github.wellpereiradevs.quarkussocial.replica.ReadRouter;
+import io.github.wellpereiradevs.quarkussocial.shard.Shards;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import lombok.Value;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.jpa.QueryHints;
 
 import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Event;
+import javax.inject.Inject;
+import javax.persistence.EntityManager;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @ApplicationScoped
 public class PostRepository implements PanacheRepository<Post> {
+
+    private static final int STREAM_FETCH_SIZE = 1000;
+    private static final int IN_CLAUSE_CHUNK = 500;
+    private static final int ID_BLOCK_SIZE = 50;
+    private static final Comparator<TimelineEntry> OLDEST_FIRST = Comparator
+            .comparing(TimelineEntry::getDateTime)
+            .thenComparing(TimelineEntry::getPostId);
+
+    @Inject
+    Event<PostCreated> postCreated;
+
+    @Inject
+    ReadRouter readRouter;
+
+    @Inject
+    Shards shards;
+
+    private final Map<Integer, Deque<Long>> reservedIds = new HashMap<>();
+
+    @Override
+    public void persist(Post post) {
+        if (shards.isEnabled()) {
+            post.prePersist();
+            post.setId(reserveId(post));
+            insertAll(List.of(post));
+            return;
+        }
+        getEntityManager().persist(post);
+        fire(new PostCreated(post.getId(), post.getUser().getId(), post.getText(), post.getDateTime()));
+    }
+
+    /**
+     * Draws an id from the same pooled sequence optimizer that {@link #persist(Post)} uses,
+     * so an id handed out before the row is written can never collide with a regular insert.
+     * The optimizer reads the sequence once per {@code allocationSize} ids, so no transaction
+     * is needed and most calls don't touch the database. When sharded the id comes from a
+     * block of {@code ID_BLOCK_SIZE} ids drawn from the author's shard and so points back to it.
+     */
+    public Long reserveId(Post post) {
+        if (shards.isEnabled()) {
+            int shard = shards.shardOf(post.getUser().getId());
+            synchronized (reservedIds) {
+                Deque<Long> block = reservedIds.computeIfAbsent(shard, key -> new ArrayDeque<>());
+                if (block.isEmpty()) {
+                    block.addAll(shards.onShard(shard, connection -> {
+                        List<Long> ids = new ArrayList<>(ID_BLOCK_SIZE);
+                        for (int i = 0; i < ID_BLOCK_SIZE; i++) {
+                            ids.add(Shards.nextId(connection, "posts_id_seq"));
+                        }
+                        return ids;
+                    }));
+                }
+                return block.poll();
+            }
+        }
+        var session = getEntityManager().unwrap(SessionImplementor.class);
+        return (Long) session.getFactory().getMetamodel().entityPersister(Post.class)
+                .getIdentifierGenerator()
+                .generate(session, post);
+    }
+
+    /**
+     * Writes posts with reserved ids as a single JDBC batch, bypassing the persistence context.
+     */
+    public void insertAll(List<Post> posts) {
+        if (shards.isEnabled()) {
+            Map<Integer, List<Post>> byShard = shards.groupByShard(posts, post -> post.getUser().getId());
+            shards.scatter(byShard.keySet(), (shard, connection) -> {
+                insertBatch(connection, byShard.get(shard));
+                return null;
+            });
+        } else {
+            getEntityManager().unwrap(Session.class).doWork(connection -> insertBatch(connection, posts));
+        }
+        for (Post post : posts) {
+            fire(new PostCreated(post.getId(), post.getUser().getId(), post.getText(), post.getDateTime()));
+        }
+    }
+
+    private static void insertBatch(Connection connection, List<Post> posts) throws SQLException {
+        try (var statement = connection.prepareStatement(
+                "insert into posts (id, post_text, dateTime, user_id) values (?, ?, ?, ?)")) {
+            for (Post post : posts) {
+                statement.setLong(1, post.getId());
+                statement.setString(2, post.getText());
+                statement.setTimestamp(3, Timestamp.valueOf(post.getDateTime()));
+                statement.setLong(4, post.getUser().getId());
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    /**
+     * Walks every post, oldest first, as a read-only projection through a forward-only cursor.
+     */
+    public void forEachEntry(Consumer<TimelineEntry> consumer) {
+        if (shards.isEnabled()) {
+            shards.streamMerged("select id, user_id, post_text, dateTime from posts order by dateTime, id",
+                    STREAM_FETCH_SIZE, PostRepository::toEntry, (shard, entry) -> true, OLDEST_FIRST, consumer);
+            return;
+        }
+        try (Stream<TimelineEntry> entries = getEntityManager()
+                .createQuery("select new " + TimelineEntry.class.getName() + "(p.id, p.user.id, p.text, p.dateTime) " +
+                        "from Post p order by p.dateTime, p.id", TimelineEntry.class)
+                .setHint(QueryHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .setHint(QueryHints.HINT_READONLY, true)
+                .getResultStream()) {
+            entries.forEach(consumer);
+        }
+    }
+
+    public List<Post> findByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        if (!shards.isEnabled()) {
+            return list("id in ?1", ids);
+        }
+        Map<Integer, List<Long>> byShard = shards.groupByShard(ids, Long::longValue);
+        List<List<Post>> found = shards.scatter(byShard.keySet(), (shard, connection) -> {
+            List<Long> shardIds = byShard.get(shard);
+            List<Post> posts = new ArrayList<>(shardIds.size());
+            for (int from = 0; from < shardIds.size(); from += IN_CLAUSE_CHUNK) {
+                List<Long> chunk = shardIds.subList(from, Math.min(shardIds.size(), from + IN_CLAUSE_CHUNK));
+                try (PreparedStatement statement = connection.prepareStatement(
+                        "select p.id, p.post_text, p.dateTime, u.id, u.name, u.age " +
+                                "from posts p join users u on u.id = p.user_id " +
+                                "where p.id in (" + Shards.parameters(chunk.size()) + ")")) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        statement.setLong(i + 1, chunk.get(i));
+                    }
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        while (resultSet.next()) {
+                            posts.add(toPost(resultSet));
+                        }
+                    }
+                }
+            }
+            return posts;
+        });
+        List<Post> posts = new ArrayList<>();
+        found.forEach(posts::addAll);
+        return posts;
+    }
+
+    /**
+     * When sharded, the followed users are read from the follower's own shard, each of
+     * their shards returns its newest {@code size} posts and the lists are merged.
+     */
+    public List<TimelineEntry> findRecentEntriesFollowedBy(Long followerId, int size) {
+        if (shards.isEnabled()) {
+            return findRecentEntriesOnShards(followerId, size);
+        }
+        return getEntityManager()
+                .createQuery("select new " + TimelineEntry.class.getName() + "(p.id, p.user.id, p.text, p.dateTime) " +
+                        "from Post p where p.user.id in " +
+                        "(select f.user.id from Follower f where f.follower.id = :followerId) " +
+                        "order by p.dateTime desc, p.id desc", TimelineEntry.class)
+                .setParameter("followerId", followerId)
+                .setMaxResults(size)
+                .getResultList();
+    }
+
+    /**
+     * Checks that both users exist, that {@code followerId} follows {@code userId} and reads
+     * the first page of posts, all in a single statement. Posts are only joined in when the
+     * follow edge exists, so an unauthorized caller never reads any of them.
+     */
+    public VisiblePage findVisiblePage(Long userId, Long followerId, LocalDateTime afterDateTime, Long afterId, int size) {
+        if (shards.isEnabled()) {
+            return findVisiblePageOnShards(userId, followerId, afterDateTime, afterId, size);
+        }
+        return readRouter.read(entityManager ->
+                findVisiblePage(entityManager, userId, followerId, afterDateTime, afterId, size), userId, followerId);
+    }
+
+    private VisiblePage findVisiblePage(EntityManager entityManager, Long userId, Long followerId,
+                                        LocalDateTime afterDateTime, Long afterId, int size) {
+        String follows = "exists (select 1 from followers f where f.user_id = u.id and f.follower_id = fu.id)";
+        String sql = "select u.id, fu.id, case when " + follows + " then 1 else 0 end, " +
+                "p.id, p.post_text, p.dateTime " +
+                "from users u " +
+                "left join users fu on fu.id = :followerId " +
+                "left join posts p on p.user_id = u.id and " + follows + " " +
+                (afterDateTime == null ? "" :
+                        "and (p.dateTime < :dateTime or (p.dateTime = :dateTime and p.id < :id)) ") +
+                "where u.id = :userId " +
+                "order by p.dateTime desc, p.id desc";
+
+        var query = entityManager.createNativeQuery(sql)
+                .setParameter("userId", userId)
+                .setParameter("followerId", followerId)
+                .setMaxResults(size);
+        if (afterDateTime != null) {
+            query.setParameter("dateTime", Timestamp.valueOf(afterDateTime))
+                    .setParameter("id", afterId);
+        }
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = query.getResultList();
+        if (rows.isEmpty()) {
+            return new VisiblePage(false, false, false, List.of());
+        }
+
+        Object[] first = rows.get(0);
+        List<Post> posts = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            if (row[3] == null) {
+                continue;
+            }
+            var post = new Post();
+            post.setId(((Number) row[3]).longValue());
+            post.setText((String) row[4]);
+            post.setDateTime(toLocalDateTime(row[5]));
+            posts.add(post);
+        }
+        return new VisiblePage(true, first[1] != null, ((Number) first[2]).intValue() == 1, posts);
+    }
+
+    private List<TimelineEntry> findRecentEntriesOnShards(Long followerId, int size) {
+        List<Long> followed = shards.onShardOf(followerId, connection -> {
+            List<Long> userIds = new ArrayList<>();
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "select user_id from followers where follower_id = ?")) {
+                statement.setLong(1, followerId);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        userIds.add(resultSet.getLong(1));
+                    }
+                }
+            }
+            return userIds;
+        });
+        if (followed.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Integer, List<Long>> byShard = shards.groupByShard(followed, Long::longValue);
+        List<List<List<TimelineEntry>>> newest = shards.scatter(byShard.keySet(), (shard, connection) -> {
+            List<Long> userIds = byShard.get(shard);
+            List<List<TimelineEntry>> chunks = new ArrayList<>();
+            for (int from = 0; from < userIds.size(); from += IN_CLAUSE_CHUNK) {
+                List<Long> chunk = userIds.subList(from, Math.min(userIds.size(), from + IN_CLAUSE_CHUNK));
+                try (PreparedStatement statement = connection.prepareStatement(
+                        "select id, user_id, post_text, dateTime from posts " +
+                                "where user_id in (" + Shards.parameters(chunk.size()) + ") " +
+                                "order by dateTime desc, id desc limit " + size)) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        statement.setLong(i + 1, chunk.get(i));
+                    }
+                    List<TimelineEntry> entries = new ArrayList<>();
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        while (resultSet.next()) {
+                            entries.add(toEntry(resultSet));
+                        }
+                    }
+                    chunks.add(entries);
+                }
+            }
+            return chunks;
+        });
+        List<List<TimelineEntry>> sorted = new ArrayList<>();
+        newest.forEach(sorted::addAll);
+        return Shards.merge(sorted, TimelineEntry.NEWEST_FIRST, size);
+    }
+
+    /**
+     * The user, the follow edge and the posts all live on the user's shard, so the page is
+     * still a single statement there; only the follower's existence is checked on its own
+     * shard, and only when there is no edge to prove it.
+     */
+    private VisiblePage findVisiblePageOnShards(Long userId, Long followerId,
+                                                LocalDateTime afterDateTime, Long afterId, int size) {
+        String follows = "exists (select 1 from followers f where f.user_id = u.id and f.follower_id = ?)";
+        String sql = "select u.id, case when " + follows + " then 1 else 0 end, " +
+                "p.id, p.post_text, p.dateTime " +
+                "from users u " +
+                "left join posts p on p.user_id = u.id and " + follows + " " +
+                (afterDateTime == null ? "" :
+                        "and (p.dateTime < ? or (p.dateTime = ? and p.id < ?)) ") +
+                "where u.id = ? " +
+                "order by p.dateTime desc, p.id desc limit " + size;
+
+        VisiblePage page = shards.onShardOf(userId, connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                int parameter = 1;
+                statement.setLong(parameter++, followerId);
+                statement.setLong(parameter++, followerId);
+                if (afterDateTime != null) {
+                    statement.setTimestamp(parameter++, Timestamp.valueOf(afterDateTime));
+                    statement.setTimestamp(parameter++, Timestamp.valueOf(afterDateTime));
+                    statement.setLong(parameter++, afterId);
+                }
+                statement.setLong(parameter, userId);
+
+                boolean following = false;
+                List<Post> posts = new ArrayList<>();
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    if (!resultSet.next()) {
+                        return new VisiblePage(false, false, false, List.of());
+                    }
+                    do {
+                        following = resultSet.getInt(2) == 1;
+                        if (resultSet.getObject(3) != null) {
+                            var post = new Post();
+                            post.setId(resultSet.getLong(3));
+                            post.setText(resultSet.getString(4));
+                            post.setDateTime(resultSet.getTimestamp(5).toLocalDateTime());
+                            posts.add(post);
+                        }
+                    } while (resultSet.next());
+                }
+                return new VisiblePage(true, following, following, posts);
+            }
+        });
+        if (!page.isUserFound() || page.isFollowing()) {
+            return page;
+        }
+        boolean followerFound = shards.onShardOf(followerId, connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("select 1 from users where id = ?")) {
+                statement.setLong(1, followerId);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    return resultSet.next();
+                }
+            }
+        });
+        return new VisiblePage(true, followerFound, false, page.getPosts());
+    }
+
+    private static TimelineEntry toEntry(ResultSet resultSet) throws SQLException {
+        return new TimelineEntry(resultSet.getLong(1), resultSet.getLong(2), resultSet.getString(3),
+                resultSet.getTimestamp(4).toLocalDateTime());
+    }
+
+    private static Post toPost(ResultSet resultSet) throws SQLException {
+        var user = new User();
+        user.setId(resultSet.getLong(4));
+        user.setName(resultSet.getString(5));
+        user.setAge((Integer) resultSet.getObject(6));
+        var post = new Post();
+        post.setId(resultSet.getLong(1));
+        post.setText(resultSet.getString(2));
+        post.setDateTime(resultSet.getTimestamp(3).toLocalDateTime());
+        post.setUser(user);
+        return post;
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof Timestamp) {
+            return ((Timestamp) value).toLocalDateTime();
+        }
+        return (LocalDateTime) value;
+    }
+
+    /**
+     * Sharded writes are already committed, so their events go out right away instead of
+     * waiting on a surrounding transaction that could still roll back.
+     */
+    private void fire(PostCreated event) {
+        if (shards.isEnabled()) {
+            shards.fireCommitted(postCreated, event);
+        } else {
+            postCreated.fire(event);
+        }
+    }
+
+    @Value
+    public static class VisiblePage {
+        boolean userFound;
+        boolean followerFound;
+        boolean following;
+        List<Post> posts;
+    }
 }
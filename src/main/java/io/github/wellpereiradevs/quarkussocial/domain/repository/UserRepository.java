@@ -1,10 +1,255 @@
 package io.github.wellpereiradevs.quarkussocial.domain.repository;
 
+import io.github.wellpereiradevs.quarkussocial.domain.event.UserChanged;
 import io.github.wellpereiradevs.quarkussocial.domain.model.User;
+import io.github.wellpereiradevs.quarkussocial.replica.ReadRouter;
+import io.github.wellpereiradevs.quarkussocial.shard.Shards;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import org.hibernate.jpa.QueryHints;
 
 import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Event;
+import javax.inject.Inject;
+import javax.persistence.EntityManager;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @ApplicationScoped
 public class UserRepository implements PanacheRepository<User> {
+
+    private static final int STREAM_FETCH_SIZE = 500;
+    private static final int IN_CLAUSE_CHUNK = 500;
+    private static final Comparator<User> BY_ID = Comparator.comparing(User::getId);
+
+    @Inject
+    Event<UserChanged> userChanged;
+
+    @Inject
+    ReadRouter readRouter;
+
+    @Inject
+    Shards shards;
+
+    @Override
+    public void persist(User user) {
+        if (!shards.isEnabled()) {
+            getEntityManager().persist(user);
+            return;
+        }
+        shards.onShard(shards.placeNewUser(), connection -> {
+            long id = Shards.nextId(connection, "users_id_seq");
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "insert into users (id, name, age) values (?, ?, ?)")) {
+                statement.setLong(1, id);
+                statement.setString(2, user.getName());
+                statement.setObject(3, user.getAge());
+                statement.executeUpdate();
+            }
+            user.setId(id);
+            return null;
+        });
+    }
+
+    /**
+     * When sharded, the user comes back detached: changes are written by {@link #markChanged(User)}.
+     */
+    @Override
+    public User findById(Long id) {
+        if (!shards.isEnabled()) {
+            return getEntityManager().find(User.class, id);
+        }
+        return shards.onShardOf(id, connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "select id, name, age from users where id = ?")) {
+                statement.setLong(1, id);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    return resultSet.next() ? toUser(resultSet) : null;
+                }
+            }
+        });
+    }
+
+    @Override
+    public void delete(User user) {
+        if (shards.isEnabled()) {
+            shards.onShardOf(user.getId(), connection -> {
+                try (PreparedStatement statement = connection.prepareStatement("delete from users where id = ?")) {
+                    statement.setLong(1, user.getId());
+                    return statement.executeUpdate();
+                }
+            });
+        } else {
+            getEntityManager().remove(user);
+        }
+        fire(new UserChanged(user.getId(), true));
+    }
+
+    public void markChanged(User user) {
+        if (shards.isEnabled()) {
+            shards.onShardOf(user.getId(), connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(
+                        "update users set name = ?, age = ? where id = ?")) {
+                    statement.setString(1, user.getName());
+                    statement.setObject(2, user.getAge());
+                    statement.setLong(3, user.getId());
+                    return statement.executeUpdate();
+                }
+            });
+        }
+        fire(new UserChanged(user.getId(), false));
+    }
+
+    /**
+     * Walks every user through a forward-only cursor. Rows are read as a projection,
+     * so nothing is kept in the persistence context and memory stays flat. The cursor
+     * stays open on whichever side {@link ReadRouter} picked until the walk ends.
+     */
+    public void forEachUser(Consumer<User> consumer) {
+        if (shards.isEnabled()) {
+            shards.streamMerged("select id, name, age from users order by id", STREAM_FETCH_SIZE,
+                    UserRepository::toUser, (shard, user) -> true, BY_ID, consumer);
+            return;
+        }
+        readRouter.read(entityManager -> {
+            streamUsers(entityManager, consumer);
+            return null;
+        });
+    }
+
+    private void streamUsers(EntityManager entityManager, Consumer<User> consumer) {
+        try (Stream<Object[]> rows = entityManager
+                .createQuery("select u.id, u.name, u.age from User u order by u.id", Object[].class)
+                .setHint(QueryHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .setHint(QueryHints.HINT_READONLY, true)
+                .getResultStream()) {
+            rows.forEach(row -> {
+                var user = new User();
+                user.setId((Long) row[0]);
+                user.setName((String) row[1]);
+                user.setAge((Integer) row[2]);
+                consumer.accept(user);
+            });
+        }
+    }
+
+    /**
+     * When sharded, every shard returns its own first {@code size} users after the cursor
+     * and the pages are merged by id.
+     */
+    public List<User> findPage(Long afterId, int size) {
+        if (shards.isEnabled()) {
+            String sql = "select id, name, age from users " + (afterId == null ? "" : "where id > ? ") +
+                    "order by id limit " + size;
+            List<List<User>> pages = shards.scatter((shard, connection) -> {
+                try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                    if (afterId != null) {
+                        statement.setLong(1, afterId);
+                    }
+                    return readUsers(statement);
+                }
+            });
+            return Shards.merge(pages, BY_ID, size);
+        }
+        return readRouter.read(entityManager -> {
+            var query = entityManager
+                    .createQuery("from User u " + (afterId == null ? "" : "where u.id > :afterId ") +
+                            "order by u.id", User.class)
+                    .setMaxResults(size);
+            if (afterId != null) {
+                query.setParameter("afterId", afterId);
+            }
+            return query.getResultList();
+        });
+    }
+
+    public Set<Long> findExistingIds(Collection<Long> ids) {
+        if (shards.isEnabled()) {
+            Set<Long> existing = new HashSet<>();
+            for (User user : findByIds(ids)) {
+                existing.add(user.getId());
+            }
+            return existing;
+        }
+        List<Long> list = new ArrayList<>(ids);
+        Set<Long> existing = new HashSet<>();
+        for (int from = 0; from < list.size(); from += IN_CLAUSE_CHUNK) {
+            existing.addAll(getEntityManager()
+                    .createQuery("select u.id from User u where u.id in :ids", Long.class)
+                    .setParameter("ids", list.subList(from, Math.min(list.size(), from + IN_CLAUSE_CHUNK)))
+                    .getResultList());
+        }
+        return existing;
+    }
+
+    public List<User> findByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        if (!shards.isEnabled()) {
+            return list("id in ?1", ids);
+        }
+        Map<Integer, List<Long>> byShard = shards.groupByShard(ids, Long::longValue);
+        List<List<User>> found = shards.scatter(byShard.keySet(), (shard, connection) -> {
+            List<Long> shardIds = byShard.get(shard);
+            List<User> users = new ArrayList<>(shardIds.size());
+            for (int from = 0; from < shardIds.size(); from += IN_CLAUSE_CHUNK) {
+                users.addAll(findChunk(connection, shardIds.subList(from, Math.min(shardIds.size(), from + IN_CLAUSE_CHUNK))));
+            }
+            return users;
+        });
+        List<User> users = new ArrayList<>();
+        found.forEach(users::addAll);
+        return users;
+    }
+
+    private static List<User> findChunk(Connection connection, List<Long> ids) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "select id, name, age from users where id in (" + Shards.parameters(ids.size()) + ")")) {
+            for (int i = 0; i < ids.size(); i++) {
+                statement.setLong(i + 1, ids.get(i));
+            }
+            return readUsers(statement);
+        }
+    }
+
+    private static List<User> readUsers(PreparedStatement statement) throws SQLException {
+        List<User> users = new ArrayList<>();
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                users.add(toUser(resultSet));
+            }
+        }
+        return users;
+    }
+
+    private static User toUser(ResultSet resultSet) throws SQLException {
+        var user = new User();
+        user.setId(resultSet.getLong(1));
+        user.setName(resultSet.getString(2));
+        user.setAge((Integer) resultSet.getObject(3));
+        return user;
+    }
+
+    /**
+     * Sharded writes are already committed, so their events go out right away instead of
+     * waiting on a surrounding transaction that could still roll back.
+     */
+    private void fire(UserChanged event) {
+        if (shards.isEnabled()) {
+            shards.fireCommitted(userChanged, event);
+        } else {
+            userChanged.fire(event);
+        }
+    }
 }
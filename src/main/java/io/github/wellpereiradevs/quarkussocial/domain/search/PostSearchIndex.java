@@ -0,0 +1,256 @@
+package io.github.wellpereiradevs.quarkussocial.domain.search;
+
+import io.github.wellpereiradevs.quarkussocial.domain.event.PostCreated;
+import io.github.wellpereiradevs.quarkussocial.domain.graph.FollowGraph;
+import io.github.wellpereiradevs.quarkussocial.domain.model.TimelineEntry;
+import io.github.wellpereiradevs.quarkussocial.domain.repository.PostRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.runtime.StartupEvent;
+import org.jboss.logging.Logger;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.enterprise.event.TransactionPhase;
+import javax.inject.Inject;
+import javax.transaction.Transactional;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over post text. Terms map to dense int ids, each term keeps an
+ * {@code int[]} posting list of document numbers, and every document keeps its term id
+ * sequence for phrase checks. It is built from the {@code posts} table at startup and then
+ * extended after every committed post. Only post ids come out of a search; the page itself
+ * is read by primary key.
+ */
+@ApplicationScoped
+public class PostSearchIndex {
+
+    private static final Logger LOG = Logger.getLogger(PostSearchIndex.class);
+    private static final int INITIAL_DOCUMENTS = 1024;
+    private static final long TERM_OVERHEAD_BYTES = 96;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private final List<PostingList> postings = new ArrayList<>();
+    private long[] postIds = new long[INITIAL_DOCUMENTS];
+    private long[] authorIds = new long[INITIAL_DOCUMENTS];
+    private long[] timestamps = new long[INITIAL_DOCUMENTS];
+    private int[][] documentTerms = new int[INITIAL_DOCUMENTS][];
+    private int documents;
+    private long termBytes;
+    private long documentTermBytes;
+
+    @Inject
+    PostRepository postRepository;
+
+    @Inject
+    FollowGraph followGraph;
+
+    @Inject
+    MeterRegistry registry;
+
+    private Timer queryTimer;
+
+    @Transactional
+    void onStart(@Observes StartupEvent event) {
+        queryTimer = Timer.builder("social.search.query")
+                .description("Post search latency")
+                .publishPercentileHistogram()
+                .register(registry);
+        Gauge.builder("social.search.index.bytes", this, PostSearchIndex::estimatedBytes)
+                .description("Estimated heap used by the post search index")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("social.search.index.documents", this, PostSearchIndex::documentCount)
+                .register(registry);
+        Gauge.builder("social.search.index.terms", this, PostSearchIndex::termCount)
+                .register(registry);
+
+        long start = System.nanoTime();
+        postRepository.forEachEntry(this::add);
+        LOG.infof("Indexed %d posts with %d terms (~%d KB) in %d ms", documentCount(), termCount(),
+                estimatedBytes() / 1024, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    void onPostCreated(@Observes(during = TransactionPhase.AFTER_SUCCESS) PostCreated event) {
+        add(new TimelineEntry(event.getPostId(), event.getUserId(), event.getText(), event.getDateTime()));
+    }
+
+    void add(TimelineEntry entry) {
+        List<String> tokens = TextTokenizer.tokenize(entry.getText());
+        lock.writeLock().lock();
+        try {
+            if (documents == postIds.length) {
+                int capacity = documents + (documents >> 1);
+                postIds = Arrays.copyOf(postIds, capacity);
+                authorIds = Arrays.copyOf(authorIds, capacity);
+                timestamps = Arrays.copyOf(timestamps, capacity);
+                documentTerms = Arrays.copyOf(documentTerms, capacity);
+            }
+            int document = documents++;
+            postIds[document] = entry.getPostId();
+            authorIds[document] = entry.getUserId();
+            timestamps[document] = toNanos(entry.getDateTime());
+
+            int[] terms = new int[tokens.size()];
+            for (int i = 0; i < terms.length; i++) {
+                terms[i] = termId(tokens.get(i));
+                postings.get(terms[i]).append(document);
+            }
+            documentTerms[document] = terms;
+            documentTermBytes += 16 + 4L * terms.length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Newest first, restricted to authors {@code followerId} follows, the same rule
+     * {@code GET /users/{userId}/posts} applies.
+     */
+    public List<Long> search(SearchQuery query, long followerId, LocalDateTime afterDateTime, Long afterId, int size) {
+        return queryTimer.record(() -> find(query, followerId, afterDateTime, afterId, size));
+    }
+
+    private List<Long> find(SearchQuery query, long followerId, LocalDateTime afterDateTime, Long afterId, int size) {
+        long afterTime = afterDateTime == null ? Long.MAX_VALUE : toNanos(afterDateTime);
+        long afterPost = afterId == null ? Long.MAX_VALUE : afterId;
+
+        lock.readLock().lock();
+        try {
+            PostingList[] lists = new PostingList[query.getTerms().size()];
+            for (int i = 0; i < lists.length; i++) {
+                Integer termId = termIds.get(query.getTerms().get(i));
+                if (termId == null) {
+                    return List.of();
+                }
+                lists[i] = postings.get(termId);
+            }
+            Arrays.sort(lists, Comparator.comparingInt(PostingList::size));
+
+            int[] candidates = lists[0].copy();
+            int count = candidates.length;
+            for (int i = 1; i < lists.length && count > 0; i++) {
+                count = lists[i].retainAll(candidates, count);
+            }
+
+            int[][] phrases = new int[query.getPhrases().size()][];
+            for (int i = 0; i < phrases.length; i++) {
+                phrases[i] = query.getPhrases().get(i).stream().mapToInt(termIds::get).toArray();
+            }
+
+            Comparator<Integer> newestFirst = this::compareNewestFirst;
+            PriorityQueue<Integer> top = new PriorityQueue<>(size + 1, newestFirst.reversed());
+            for (int i = 0; i < count; i++) {
+                int document = candidates[i];
+                long time = timestamps[document];
+                if (time > afterTime || (time == afterTime && postIds[document] >= afterPost)) {
+                    continue;
+                }
+                if (!followGraph.follows(followerId, authorIds[document])
+                        || !containsPhrases(documentTerms[document], phrases)) {
+                    continue;
+                }
+                top.add(document);
+                if (top.size() > size) {
+                    top.poll();
+                }
+            }
+
+            List<Integer> page = new ArrayList<>(top);
+            page.sort(newestFirst);
+            List<Long> ids = new ArrayList<>(page.size());
+            for (int document : page) {
+                ids.add(postIds[document]);
+            }
+            return Collections.unmodifiableList(ids);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int documentCount() {
+        lock.readLock().lock();
+        try {
+            return documents;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return termIds.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = termBytes + documentTermBytes + 28L * postIds.length;
+            for (PostingList list : postings) {
+                bytes += list.estimatedBytes();
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int termId(String term) {
+        Integer id = termIds.get(term);
+        if (id == null) {
+            id = postings.size();
+            termIds.put(term, id);
+            postings.add(new PostingList());
+            termBytes += TERM_OVERHEAD_BYTES + 2L * term.length();
+        }
+        return id;
+    }
+
+    private int compareNewestFirst(int left, int right) {
+        int byTime = Long.compare(timestamps[right], timestamps[left]);
+        return byTime != 0 ? byTime : Long.compare(postIds[right], postIds[left]);
+    }
+
+    private static boolean containsPhrases(int[] terms, int[][] phrases) {
+        for (int[] phrase : phrases) {
+            if (!containsPhrase(terms, phrase)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean containsPhrase(int[] terms, int[] phrase) {
+        for (int start = 0; start + phrase.length <= terms.length; start++) {
+            int matched = 0;
+            while (matched < phrase.length && terms[start + matched] == phrase[matched]) {
+                matched++;
+            }
+            if (matched == phrase.length) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long toNanos(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + dateTime.getNano();
+    }
+}
@@ -0,0 +1,55 @@
+package io.github.wellpereiradevs.quarkussocial.domain.search;
+
+import java.util.Arrays;
+
+/**
+ * Append-only {@code int[]} of document numbers. Documents are numbered in indexing
+ * order, so appending keeps the list sorted without any shifting.
+ */
+final class PostingList {
+
+    private int[] documents = new int[2];
+    private int size;
+
+    void append(int document) {
+        if (size > 0 && documents[size - 1] == document) {
+            return;
+        }
+        if (size == documents.length) {
+            documents = Arrays.copyOf(documents, size + (size >> 1) + 1);
+        }
+        documents[size++] = document;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int[] copy() {
+        return Arrays.copyOf(documents, size);
+    }
+
+    /**
+     * Keeps in {@code candidates[0..count)} only the documents also present in this list.
+     *
+     * @return the new candidate count
+     */
+    int retainAll(int[] candidates, int count) {
+        int kept = 0;
+        int position = 0;
+        for (int i = 0; i < count && position < size; i++) {
+            int candidate = candidates[i];
+            while (position < size && documents[position] < candidate) {
+                position++;
+            }
+            if (position < size && documents[position] == candidate) {
+                candidates[kept++] = candidate;
+            }
+        }
+        return kept;
+    }
+
+    long estimatedBytes() {
+        return 32 + 4L * documents.length;
+    }
+}
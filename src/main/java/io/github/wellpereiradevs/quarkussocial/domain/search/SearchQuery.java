@@ -0,0 +1,47 @@
+package io.github.wellpereiradevs.quarkussocial.domain.search;
+
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Parsed search input. Every term must match (AND); text in double quotes must
+ * also appear as a contiguous phrase.
+ */
+@Value
+public class SearchQuery {
+
+    private static final Pattern PARTS = Pattern.compile("\"([^\"]*)\"|([^\\s\"]+)");
+
+    List<String> terms;
+    List<List<String>> phrases;
+
+    public static SearchQuery parse(String query) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Query must have at least one term");
+        }
+        Set<String> terms = new LinkedHashSet<>();
+        List<List<String>> phrases = new ArrayList<>();
+        Matcher matcher = PARTS.matcher(query);
+        while (matcher.find()) {
+            if (matcher.group(1) != null) {
+                List<String> tokens = TextTokenizer.tokenize(matcher.group(1));
+                if (tokens.size() > 1) {
+                    phrases.add(tokens);
+                }
+                terms.addAll(tokens);
+            } else {
+                terms.addAll(TextTokenizer.tokenize(matcher.group(2)));
+            }
+        }
+        if (terms.isEmpty()) {
+            throw new IllegalArgumentException("Query must have at least one term");
+        }
+        return new SearchQuery(new ArrayList<>(terms), phrases);
+    }
+}
@@ -0,0 +1,85 @@
+package io.github.wellpereiradevs.quarkussocial.domain.service;
+
+import io.github.wellpereiradevs.quarkussocial.domain.model.Post;
+import io.github.wellpereiradevs.quarkussocial.domain.model.PostDraft;
+import io.github.wellpereiradevs.quarkussocial.domain.model.User;
+import io.github.wellpereiradevs.quarkussocial.domain.repository.PostRepository;
+import io.github.wellpereiradevs.quarkussocial.domain.repository.UserRepository;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.transaction.Transactional;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@ApplicationScoped
+public class PostIngestionService {
+
+    private UserRepository userRepository;
+    private PostRepository postRepository;
+    private int flushSize;
+
+    @Inject
+    public PostIngestionService(UserRepository userRepository,
+                                PostRepository postRepository,
+                                @ConfigProperty(name = "social.ingest.flush-size", defaultValue = "50") int flushSize) {
+        this.userRepository = userRepository;
+        this.postRepository = postRepository;
+        this.flushSize = flushSize;
+    }
+
+    /**
+     * Stores one chunk of posts in its own transaction, so a failing chunk never
+     * rolls back the ones before it. The session is flushed and cleared every
+     * {@code social.ingest.flush-size} posts to keep it small and the inserts batched.
+     *
+     * @return the rejected drafts, keyed by line number
+     */
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public Map<Long, String> persistChunk(List<PostDraft> drafts) {
+        Set<Long> authorIds = drafts.stream().map(PostDraft::getUserId).collect(Collectors.toSet());
+        Set<Long> existingAuthors = userRepository.findExistingIds(authorIds);
+
+        Map<Long, String> rejected = new LinkedHashMap<>();
+        var entityManager = postRepository.getEntityManager();
+        int pending = 0;
+        for (PostDraft draft : drafts) {
+            if (!existingAuthors.contains(draft.getUserId())) {
+                rejected.put(draft.getLine(), "Nonexistent userId");
+                continue;
+            }
+
+            var post = new Post();
+            post.setText(draft.getText());
+            post.setDateTime(draft.getDateTime());
+            post.setUser(entityManager.getReference(User.class, draft.getUserId()));
+            postRepository.persist(post);
+
+            if (++pending % flushSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        return rejected;
+    }
+
+    /**
+     * Stores a single post in its own transaction, for requests that don't use write-behind.
+     */
+    @Transactional
+    public void writePost(Post post) {
+        postRepository.persist(post);
+    }
+
+    /**
+     * Group commit for {@link PostWriteBehind}: one transaction and one JDBC batch per call.
+     */
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public void writeBatch(List<Post> posts) {
+        postRepository.insertAll(posts);
+    }
+}
@@ -0,0 +1,146 @@
+package io.github.wellpereiradevs.quarkussocial.domain.service;
+
+import io.github.wellpereiradevs.quarkussocial.domain.model.Post;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Optional write-behind path for new posts. Requests only reserve an id and enqueue the post;
+ * a single writer thread drains the bounded queue and commits whatever has accumulated as one
+ * batch. Draining in FIFO order on one thread keeps every author's posts committed in the order
+ * they were accepted. When the queue stays full for {@code offer-timeout-millis} the post is
+ * refused, and on shutdown the queue is closed and drained before the datasource goes away.
+ * Offers hold the read side of {@code closing} and shutdown takes the write side, so a post is
+ * either refused or enqueued before the writer starts its final drain.
+ */
+@ApplicationScoped
+public class PostWriteBehind {
+
+    private static final Logger LOG = Logger.getLogger(PostWriteBehind.class);
+    private static final long POLL_MILLIS = 100;
+
+    private PostIngestionService ingestionService;
+    private boolean enabled;
+    private int batchSize;
+    private long offerTimeoutMillis;
+    private long drainTimeoutMillis;
+    private BlockingQueue<Post> queue;
+
+    private final ReadWriteLock closing = new ReentrantReadWriteLock();
+    private volatile boolean accepting;
+    private Thread writer;
+
+    @Inject
+    public PostWriteBehind(PostIngestionService ingestionService,
+                           @ConfigProperty(name = "social.posts.write-behind.enabled", defaultValue = "false") boolean enabled,
+                           @ConfigProperty(name = "social.posts.write-behind.queue-capacity", defaultValue = "10000") int queueCapacity,
+                           @ConfigProperty(name = "social.posts.write-behind.batch-size", defaultValue = "200") int batchSize,
+                           @ConfigProperty(name = "social.posts.write-behind.offer-timeout-millis", defaultValue = "50") long offerTimeoutMillis,
+                           @ConfigProperty(name = "social.posts.write-behind.drain-timeout-millis", defaultValue = "30000") long drainTimeoutMillis) {
+        this.ingestionService = ingestionService;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        this.drainTimeoutMillis = drainTimeoutMillis;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        if (!enabled) {
+            return;
+        }
+        accepting = true;
+        writer = new Thread(this::drain, "post-write-behind");
+        writer.start();
+    }
+
+    void onStop(@Observes ShutdownEvent event) throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        closing.writeLock().lock();
+        try {
+            accepting = false;
+        } finally {
+            closing.writeLock().unlock();
+        }
+        writer.join(drainTimeoutMillis);
+        if (!queue.isEmpty()) {
+            LOG.warnf("Shut down with %d queued posts not written", queue.size());
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return false when the queue is closed or stayed full for the offer timeout
+     */
+    public boolean offer(Post post) {
+        closing.readLock().lock();
+        try {
+            if (!accepting) {
+                return false;
+            }
+            return queue.offer(post, offerTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            closing.readLock().unlock();
+        }
+    }
+
+    private void drain() {
+        List<Post> batch = new ArrayList<>(batchSize);
+        while (accepting || !queue.isEmpty()) {
+            try {
+                Post first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * A failed batch is retried post by post, so one bad row (e.g. an author deleted
+     * after the post was accepted) doesn't drop the rest of the batch.
+     */
+    private void write(List<Post> batch) {
+        try {
+            ingestionService.writeBatch(batch);
+        } catch (RuntimeException e) {
+            LOG.warnf(e, "Batch of %d posts failed, retrying one by one", batch.size());
+            for (Post post : batch) {
+                try {
+                    ingestionService.writeBatch(List.of(post));
+                } catch (RuntimeException single) {
+                    LOG.errorf(single, "Dropping post %d of user %d", post.getId(), post.getUser().getId());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package io.github.wellpereiradevs.quarkussocial.domain.service;
+
+import io.github.wellpereiradevs.quarkussocial.domain.model.TimelineEntry;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bounded, newest-first list of timeline entries kept in a ring buffer.
+ * Once full, adding a post evicts the oldest one.
+ */
+class Timeline {
+
+    private final TimelineEntry[] entries;
+    private int head;
+    private int size;
+    private volatile boolean hydrated;
+
+    Timeline(int capacity) {
+        this.entries = new TimelineEntry[capacity];
+    }
+
+    synchronized void add(TimelineEntry entry) {
+        if (size == entries.length) {
+            if (TimelineEntry.NEWEST_FIRST.compare(entry, get(size - 1)) > 0) {
+                return;
+            }
+            size--;
+        }
+
+        // entries arrive almost always in order, so this rarely shifts more than one slot
+        int position = 0;
+        while (position < size && TimelineEntry.NEWEST_FIRST.compare(get(position), entry) < 0) {
+            position++;
+        }
+        if (position < size && get(position).getPostId().equals(entry.getPostId())) {
+            return;
+        }
+        head = (head - 1 + entries.length) % entries.length;
+        for (int i = 0; i < position; i++) {
+            set(i, get(i + 1));
+        }
+        set(position, entry);
+        size++;
+    }
+
+    synchronized List<TimelineEntry> read(LocalDateTime afterDateTime, Long afterPostId, int limit) {
+        int from = 0;
+        if (afterDateTime != null) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (get(middle).isOlderThan(afterDateTime, afterPostId)) {
+                    high = middle;
+                } else {
+                    low = middle + 1;
+                }
+            }
+            from = low;
+        }
+
+        int to = Math.min(size, from + limit);
+        List<TimelineEntry> page = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            page.add(get(i));
+        }
+        return page;
+    }
+
+    boolean isHydrated() {
+        return hydrated;
+    }
+
+    void markHydrated() {
+        hydrated = true;
+    }
+
+    private TimelineEntry get(int index) {
+        return entries[(head + index) % entries.length];
+    }
+
+    private void set(int index, TimelineEntry entry) {
+        entries[(head + index) % entries.length] = entry;
+    }
+}
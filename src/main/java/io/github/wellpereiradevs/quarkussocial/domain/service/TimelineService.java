@@ -0,0 +1,172 @@
+package io.github.wellpereiradevs.quarkussocial.domain.service;
+
+import io.github.wellpereiradevs.quarkussocial.domain.event.FollowChanged;
+import io.github.wellpereiradevs.quarkussocial.domain.event.PostCreated;
+import io.github.wellpereiradevs.quarkussocial.domain.graph.FollowGraph;
+import io.github.wellpereiradevs.quarkussocial.domain.model.TimelineEntry;
+import io.github.wellpereiradevs.quarkussocial.domain.repository.PostRepository;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.enterprise.event.TransactionPhase;
+import javax.inject.Inject;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Home timelines built with a hybrid fan-out. New posts are pushed into the
+ * precomputed timeline of every follower (fan-out on write), except for authors
+ * with at least {@code social.feed.fan-out-limit} followers: their posts stay in
+ * a per-author outbox that is merged into the follower's timeline at read time.
+ * Both sides only run after the change is committed and never touch the database,
+ * except to hydrate a reader's timeline on first access. At most
+ * {@code social.feed.cached-timelines} timelines are kept, least recently read first out.
+ */
+@ApplicationScoped
+public class TimelineService {
+
+    private FollowGraph followGraph;
+    private PostRepository postRepository;
+    private int timelineSize;
+    private int fanOutLimit;
+    private int cachedTimelines;
+
+    private Map<Long, Timeline> timelines;
+    private final Map<Long, Timeline> outboxes = new ConcurrentHashMap<>();
+
+    @Inject
+    public TimelineService(FollowGraph followGraph,
+                           PostRepository postRepository,
+                           @ConfigProperty(name = "social.feed.timeline-size", defaultValue = "800") int timelineSize,
+                           @ConfigProperty(name = "social.feed.fan-out-limit", defaultValue = "10000") int fanOutLimit,
+                           @ConfigProperty(name = "social.feed.cached-timelines", defaultValue = "10000") int cachedTimelines) {
+        this.followGraph = followGraph;
+        this.postRepository = postRepository;
+        this.timelineSize = timelineSize;
+        this.fanOutLimit = fanOutLimit;
+        this.cachedTimelines = cachedTimelines;
+        this.timelines = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Timeline> eldest) {
+                return size() > TimelineService.this.cachedTimelines;
+            }
+        };
+    }
+
+    void onPostCreated(@Observes(during = TransactionPhase.AFTER_SUCCESS) PostCreated event) {
+        var entry = new TimelineEntry(event.getPostId(), event.getUserId(), event.getText(), event.getDateTime());
+        long userId = event.getUserId();
+
+        Timeline outbox = outboxes.get(userId);
+        if (outbox == null && followGraph.followerCount(userId) >= fanOutLimit) {
+            outbox = outboxes.computeIfAbsent(userId, id -> new Timeline(timelineSize));
+        }
+        if (outbox != null) {
+            outbox.add(entry);
+            return;
+        }
+
+        for (long followerId : followGraph.followerIds(userId)) {
+            Timeline timeline = cached(followerId);
+            if (timeline != null) {
+                timeline.add(entry);
+            }
+        }
+    }
+
+    void onFollowChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) FollowChanged event) {
+        invalidate(event.getFollowerId());
+    }
+
+    public List<TimelineEntry> read(Long userId, LocalDateTime afterDateTime, Long afterPostId, int limit) {
+        Timeline timeline = cached(userId);
+        if (timeline == null || !timeline.isHydrated()) {
+            timeline = hydrate(userId);
+        }
+
+        List<List<TimelineEntry>> sources = new ArrayList<>();
+        sources.add(timeline.read(afterDateTime, afterPostId, limit));
+
+        // walk whichever side is smaller: the reader's followees or the heavy authors
+        long[] followed = followGraph.followingIds(userId);
+        if (followed.length <= outboxes.size()) {
+            for (long authorId : followed) {
+                Timeline outbox = outboxes.get(authorId);
+                if (outbox != null) {
+                    sources.add(outbox.read(afterDateTime, afterPostId, limit));
+                }
+            }
+        } else {
+            for (Map.Entry<Long, Timeline> outbox : outboxes.entrySet()) {
+                if (Arrays.binarySearch(followed, outbox.getKey()) >= 0) {
+                    sources.add(outbox.getValue().read(afterDateTime, afterPostId, limit));
+                }
+            }
+        }
+
+        return merge(sources, limit);
+    }
+
+    public void invalidate(Long userId) {
+        synchronized (timelines) {
+            timelines.remove(userId);
+        }
+    }
+
+    private Timeline cached(Long userId) {
+        synchronized (timelines) {
+            return timelines.get(userId);
+        }
+    }
+
+    /**
+     * The timeline is registered before the query runs, so posts fanned out meanwhile land in
+     * it and are merged with the loaded ones instead of being lost. Readers arriving before the
+     * load finishes run the query as well; {@link Timeline#add(TimelineEntry)} drops duplicates.
+     */
+    private Timeline hydrate(Long userId) {
+        Timeline timeline;
+        synchronized (timelines) {
+            timeline = timelines.computeIfAbsent(userId, id -> new Timeline(timelineSize));
+        }
+        postRepository.findRecentEntriesFollowedBy(userId, timelineSize).forEach(timeline::add);
+        timeline.markHydrated();
+        return timeline;
+    }
+
+    private static List<TimelineEntry> merge(List<List<TimelineEntry>> sources, int limit) {
+        if (sources.size() == 1) {
+            return sources.get(0);
+        }
+
+        PriorityQueue<int[]> heads = new PriorityQueue<>((a, b) -> TimelineEntry.NEWEST_FIRST
+                .compare(sources.get(a[0]).get(a[1]), sources.get(b[0]).get(b[1])));
+        for (int source = 0; source < sources.size(); source++) {
+            if (!sources.get(source).isEmpty()) {
+                heads.add(new int[]{source, 0});
+            }
+        }
+
+        List<TimelineEntry> merged = new ArrayList<>(limit);
+        while (merged.size() < limit && !heads.isEmpty()) {
+            int[] head = heads.poll();
+            List<TimelineEntry> source = sources.get(head[0]);
+            TimelineEntry entry = source.get(head[1]);
+            // a post can sit both in a hydrated timeline and in its author's outbox
+            if (merged.isEmpty() || !merged.get(merged.size() - 1).getPostId().equals(entry.getPostId())) {
+                merged.add(entry);
+            }
+            if (head[1] + 1 < source.size()) {
+                heads.add(new int[]{head[0], head[1] + 1});
+            }
+        }
+        return merged;
+    }
+}
@@ -0,0 +1,85 @@
+package io.github.wellpereiradevs.quarkussocial.domain.service;
+
+import io.github.wellpereiradevs.quarkussocial.domain.event.FollowChanged;
+import io.github.wellpereiradevs.quarkussocial.domain.event.PostCreated;
+import io.github.wellpereiradevs.quarkussocial.domain.event.UserChanged;
+import io.github.wellpereiradevs.quarkussocial.domain.graph.FollowGraph;
+import lombok.Value;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.enterprise.event.TransactionPhase;
+import javax.inject.Inject;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-user change counter used as the validator for conditional GETs on a user's posts and
+ * followers. Versions are bumped only after the writing transaction commits and readers take
+ * the version before querying, so a stale page can never be served under a fresh tag.
+ * The startup time is part of the tag, which makes tags from a previous process never match.
+ * Counters only see the writes of this process, so the validators are only sound while a
+ * client keeps talking to the same instance.
+ */
+@ApplicationScoped
+public class UserVersions {
+
+    private final long epoch = System.currentTimeMillis();
+    private final Map<Long, Version> versions = new ConcurrentHashMap<>();
+
+    @Inject
+    FollowGraph followGraph;
+
+    public Version current(long userId) {
+        return versions.getOrDefault(userId, new Version(epoch, 0, epoch));
+    }
+
+    void onPostCreated(@Observes(during = TransactionPhase.AFTER_SUCCESS) PostCreated event) {
+        bump(event.getUserId());
+    }
+
+    void onFollowChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) FollowChanged event) {
+        bump(event.getUserId());
+    }
+
+    /**
+     * Follower lists embed the follower's name, so a rename also invalidates the lists of
+     * everyone the user follows.
+     */
+    void onUserChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) UserChanged event) {
+        bump(event.getUserId());
+        for (long userId : followGraph.followingIds(event.getUserId())) {
+            bump(userId);
+        }
+    }
+
+    private void bump(long userId) {
+        versions.compute(userId, (id, version) -> new Version(epoch,
+                version == null ? 1 : version.getCounter() + 1,
+                System.currentTimeMillis()));
+    }
+
+    @Value
+    public static class Version {
+        long epoch;
+        long counter;
+        long modifiedAt;
+
+        public String getTag() {
+            return Long.toString(epoch, 36) + "-" + counter;
+        }
+
+        /**
+         * Strong validators must differ between representations with different bytes,
+         * so each one gets its own tag.
+         */
+        public String getTag(String representation) {
+            return getTag() + "-" + representation;
+        }
+
+        public Date getLastModified() {
+            return new Date(modifiedAt);
+        }
+    }
+}
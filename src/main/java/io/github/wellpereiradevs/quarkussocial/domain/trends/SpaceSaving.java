@@ -0,0 +1,53 @@
+package io.github.wellpereiradevs.quarkussocial.domain.trends;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Space-saving heavy hitters sketch (Metwally et al.) with a fixed number of counters.
+ * When every counter is taken, a new item replaces the smallest one and inherits its
+ * count, so any item that really occurs more than {@code total / capacity} times is kept
+ * and its count is overestimated by at most the count it inherited.
+ */
+final class SpaceSaving {
+
+    private final int capacity;
+    private final Map<String, long[]> counters;
+
+    SpaceSaving(int capacity) {
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+    }
+
+    void offer(String item) {
+        long[] counter = counters.get(item);
+        if (counter != null) {
+            counter[0]++;
+            return;
+        }
+        if (counters.size() < capacity) {
+            counters.put(item, new long[]{1});
+            return;
+        }
+
+        String smallest = null;
+        long smallestCount = Long.MAX_VALUE;
+        for (Map.Entry<String, long[]> entry : counters.entrySet()) {
+            if (entry.getValue()[0] < smallestCount) {
+                smallest = entry.getKey();
+                smallestCount = entry.getValue()[0];
+            }
+        }
+        long[] reused = counters.remove(smallest);
+        reused[0] = smallestCount + 1;
+        counters.put(item, reused);
+    }
+
+    void addTo(Map<String, Long> totals) {
+        counters.forEach((item, counter) -> totals.merge(item, counter[0], Long::sum));
+    }
+
+    void clear() {
+        counters.clear();
+    }
+}
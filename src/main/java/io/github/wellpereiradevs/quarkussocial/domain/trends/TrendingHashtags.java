@@ -0,0 +1,136 @@
+package io.github.wellpereiradevs.quarkussocial.domain.trends;
+
+import io.github.wellpereiradevs.quarkussocial.domain.event.PostCreated;
+import lombok.Value;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.enterprise.event.TransactionPhase;
+import javax.inject.Inject;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Sliding-window hashtag counts kept entirely in memory. Hashtags of every committed post
+ * go into the current one-minute bucket and the current one-hour bucket; each bucket is a
+ * fixed-size {@link SpaceSaving} sketch and the buckets form two rings (the last 60 minutes
+ * and the last 24 hours). Memory is bounded by the number of buckets times
+ * {@code social.trends.counters-per-bucket}, whatever the post volume.
+ */
+@ApplicationScoped
+public class TrendingHashtags {
+
+    public static final Duration MAX_WINDOW = Duration.ofHours(24);
+
+    private static final Pattern HASHTAG = Pattern.compile("#([\\p{L}\\p{N}_]+)");
+    private static final long MINUTE_MILLIS = Duration.ofMinutes(1).toMillis();
+    private static final long HOUR_MILLIS = Duration.ofHours(1).toMillis();
+
+    private final Clock clock = Clock.systemUTC();
+    private Ring minutes;
+    private Ring hours;
+
+    @Inject
+    public TrendingHashtags(@ConfigProperty(name = "social.trends.counters-per-bucket", defaultValue = "256") int countersPerBucket) {
+        this.minutes = new Ring(60, MINUTE_MILLIS, countersPerBucket);
+        this.hours = new Ring(24, HOUR_MILLIS, countersPerBucket);
+    }
+
+    void onPostCreated(@Observes(during = TransactionPhase.AFTER_SUCCESS) PostCreated event) {
+        Set<String> hashtags = extract(event.getText());
+        if (hashtags.isEmpty()) {
+            return;
+        }
+        long now = clock.millis();
+        minutes.record(now, hashtags);
+        hours.record(now, hashtags);
+    }
+
+    /**
+     * Windows up to an hour are answered from minute buckets; longer windows are rounded
+     * up to whole hours.
+     */
+    public List<Trend> top(Duration window, int limit) {
+        long now = clock.millis();
+        Map<String, Long> totals = new HashMap<>();
+        if (window.toMillis() <= HOUR_MILLIS) {
+            minutes.addTo(now, window.toMillis(), totals);
+        } else {
+            hours.addTo(now, window.toMillis(), totals);
+        }
+
+        List<Trend> trends = new ArrayList<>(totals.size());
+        totals.forEach((hashtag, count) -> trends.add(new Trend(hashtag, count)));
+        trends.sort(Comparator.comparingLong(Trend::getCount).reversed().thenComparing(Trend::getHashtag));
+        return trends.size() > limit ? trends.subList(0, limit) : trends;
+    }
+
+    static Set<String> extract(String text) {
+        if (text == null) {
+            return Set.of();
+        }
+        Set<String> hashtags = new LinkedHashSet<>();
+        Matcher matcher = HASHTAG.matcher(text);
+        while (matcher.find()) {
+            hashtags.add(matcher.group(1).toLowerCase(Locale.ROOT));
+        }
+        return hashtags;
+    }
+
+    @Value
+    public static class Trend {
+        String hashtag;
+        long count;
+    }
+
+    private static final class Ring {
+
+        private final long bucketMillis;
+        private final long[] starts;
+        private final SpaceSaving[] sketches;
+
+        Ring(int buckets, long bucketMillis, int countersPerBucket) {
+            this.bucketMillis = bucketMillis;
+            this.starts = new long[buckets];
+            this.sketches = new SpaceSaving[buckets];
+            for (int i = 0; i < buckets; i++) {
+                sketches[i] = new SpaceSaving(countersPerBucket);
+                starts[i] = -1;
+            }
+        }
+
+        synchronized void record(long now, Set<String> hashtags) {
+            long start = now - now % bucketMillis;
+            int slot = (int) ((start / bucketMillis) % sketches.length);
+            if (starts[slot] != start) {
+                sketches[slot].clear();
+                starts[slot] = start;
+            }
+            for (String hashtag : hashtags) {
+                sketches[slot].offer(hashtag);
+            }
+        }
+
+        synchronized void addTo(long now, long windowMillis, Map<String, Long> totals) {
+            long currentStart = now - now % bucketMillis;
+            long buckets = Math.min(sketches.length, (windowMillis + bucketMillis - 1) / bucketMillis);
+            long oldestStart = currentStart - (buckets - 1) * bucketMillis;
+            for (int slot = 0; slot < sketches.length; slot++) {
+                if (starts[slot] >= oldestStart && starts[slot] <= currentStart) {
+                    sketches[slot].addTo(totals);
+                }
+            }
+        }
+    }
+}
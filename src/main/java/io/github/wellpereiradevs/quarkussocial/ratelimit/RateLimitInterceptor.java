@@ -0,0 +1,69 @@
+package io.github.wellpereiradevs.quarkussocial.ratelimit;
+
+import javax.annotation.Priority;
+import javax.inject.Inject;
+import javax.interceptor.AroundInvoke;
+import javax.interceptor.Interceptor;
+import javax.interceptor.InvocationContext;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+import java.lang.annotation.Annotation;
+
+/**
+ * Runs ahead of the {@code @Transactional} interceptor, so a throttled call never opens
+ * a transaction or reads the database.
+ */
+@RateLimited("")
+@Interceptor
+@Priority(Interceptor.Priority.PLATFORM_BEFORE + 100)
+public class RateLimitInterceptor {
+
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    @Inject
+    RateLimiter rateLimiter;
+
+    @AroundInvoke
+    Object limit(InvocationContext context) throws Exception {
+        RateLimited limited = context.getMethod().getAnnotation(RateLimited.class);
+        if (limited == null) {
+            limited = context.getMethod().getDeclaringClass().getAnnotation(RateLimited.class);
+        }
+        Long key = key(context);
+        if (limited == null || key == null) {
+            return context.proceed();
+        }
+
+        long waitMillis = rateLimiter.tryAcquire(limited.value(), key);
+        if (waitMillis == 0) {
+            return context.proceed();
+        }
+        return Response.status(TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Math.max(1, (waitMillis + 999) / 1000))
+                .entity("Too many requests, try again later")
+                .build();
+    }
+
+    private static Long key(InvocationContext context) {
+        Annotation[][] annotations = context.getMethod().getParameterAnnotations();
+        Object[] parameters = context.getParameters();
+        for (int i = 0; i < annotations.length; i++) {
+            for (Annotation annotation : annotations[i]) {
+                if (annotation instanceof RateLimitKey) {
+                    return toKey(parameters[i]);
+                }
+            }
+        }
+        return null;
+    }
+
+    private static Long toKey(Object parameter) {
+        if (parameter instanceof Number) {
+            return ((Number) parameter).longValue();
+        }
+        if (parameter instanceof RateLimitKey.Keyed) {
+            return ((RateLimitKey.Keyed) parameter).rateLimitKey();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,19 @@
+package io.github.wellpereiradevs.quarkussocial.ratelimit;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks the parameter identifying the calling user: a {@code Number}, or a request
+ * body implementing {@link Keyed}.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimitKey {
+
+    interface Keyed {
+        Long rateLimitKey();
+    }
+}
@@ -0,0 +1,22 @@
+package io.github.wellpereiradevs.quarkussocial.ratelimit;
+
+import javax.enterprise.util.Nonbinding;
+import javax.interceptor.InterceptorBinding;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Limits calls per user on a resource method returning {@code Response}. The user is the
+ * parameter annotated with {@link RateLimitKey}; limits are read from
+ * {@code social.rate-limit.<value>.permits-per-second} and {@code .burst}.
+ */
+@InterceptorBinding
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimited {
+
+    @Nonbinding
+    String value();
+}
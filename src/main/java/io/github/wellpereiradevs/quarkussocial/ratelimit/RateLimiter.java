@@ -0,0 +1,46 @@
+package io.github.wellpereiradevs.quarkussocial.ratelimit;
+
+import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@ApplicationScoped
+public class RateLimiter {
+
+    private static final String PREFIX = "social.rate-limit.";
+
+    private Config config;
+    private boolean enabled;
+    private int maxEntries;
+
+    private final Map<String, TokenBuckets> endpoints = new ConcurrentHashMap<>();
+
+    @Inject
+    public RateLimiter(Config config,
+                       @ConfigProperty(name = "social.rate-limit.enabled", defaultValue = "true") boolean enabled,
+                       @ConfigProperty(name = "social.rate-limit.max-entries", defaultValue = "100000") int maxEntries) {
+        this.config = config;
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * @return 0 when the call may proceed, otherwise the milliseconds until it may be retried
+     */
+    public long tryAcquire(String endpoint, long userId) {
+        if (!enabled) {
+            return 0;
+        }
+        return endpoints.computeIfAbsent(endpoint, this::createBuckets).tryAcquire(userId);
+    }
+
+    private TokenBuckets createBuckets(String endpoint) {
+        long permitsPerSecond = config.getValue(PREFIX + endpoint + ".permits-per-second", Long.class);
+        long burst = config.getOptionalValue(PREFIX + endpoint + ".burst", Long.class).orElse(permitsPerSecond);
+        return new TokenBuckets(permitsPerSecond, burst, maxEntries);
+    }
+}
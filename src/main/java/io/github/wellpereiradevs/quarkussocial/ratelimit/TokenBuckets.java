@@ -0,0 +1,121 @@
+package io.github.wellpereiradevs.quarkussocial.ratelimit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One token bucket per key, each packed into a single {@code long}: the upper 24 bits hold
+ * the available tokens in thousandths and the lower 40 bits the millisecond of the last
+ * refill. Acquiring is a read, a little arithmetic and one CAS, so threads never block
+ * each other. Buckets that have refilled completely carry no state worth keeping. Once the
+ * map holds {@code maxEntries} buckets they are swept, at most once per refill period, and
+ * while it is still full new keys are refused rather than let the map grow. Racing inserts
+ * can overshoot the cap by at most the number of concurrent callers.
+ */
+final class TokenBuckets {
+
+    private static final int TIME_BITS = 40;
+    private static final long TIME_MASK = (1L << TIME_BITS) - 1;
+    private static final long MAX_MILLI_TOKENS = (1L << (Long.SIZE - TIME_BITS)) - 1;
+    private static final long MILLI = 1000;
+
+    private final long capacity;
+    private final long milliTokensPerMilli;
+    private final long refillMillis;
+    private final int maxEntries;
+    private final long origin = System.nanoTime();
+    private final Map<Long, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong nextSweep = new AtomicLong();
+
+    /**
+     * @param permitsPerSecond sustained rate, at least 1
+     * @param burst            bucket size in permits, at most 16 000
+     */
+    TokenBuckets(long permitsPerSecond, long burst, int maxEntries) {
+        if (permitsPerSecond < 1 || burst < 1 || burst * MILLI > MAX_MILLI_TOKENS) {
+            throw new IllegalArgumentException("Unsupported rate " + permitsPerSecond + "/s, burst " + burst);
+        }
+        this.capacity = burst * MILLI;
+        this.milliTokensPerMilli = permitsPerSecond;
+        this.refillMillis = (capacity + milliTokensPerMilli - 1) / milliTokensPerMilli;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * @return 0 when a permit was taken, otherwise the milliseconds until one is available
+     */
+    long tryAcquire(long key) {
+        long now = now();
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = newBucket(key, now);
+            if (bucket == null) {
+                return Math.max(1, nextSweep.get() - now);
+            }
+        }
+        while (true) {
+            long state = bucket.get();
+            long tokens = refill(state, now);
+            if (tokens < MILLI) {
+                return (MILLI - tokens + milliTokensPerMilli - 1) / milliTokensPerMilli;
+            }
+            if (bucket.compareAndSet(state, pack(tokens - MILLI, now))) {
+                return 0;
+            }
+        }
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    /**
+     * @return null when the map is full and nothing could be swept yet
+     */
+    private AtomicLong newBucket(long key, long now) {
+        if (buckets.size() >= maxEntries) {
+            sweep(now);
+            if (buckets.size() >= maxEntries) {
+                return null;
+            }
+        }
+        AtomicLong created = new AtomicLong(pack(capacity, now));
+        AtomicLong existing = buckets.putIfAbsent(key, created);
+        return existing != null ? existing : created;
+    }
+
+    /**
+     * Drops every bucket that would be full by now. A bucket only becomes sweepable a whole
+     * refill period after its last use, so sweeping more often frees little: the thread that
+     * claims the next slot sweeps and the others carry on without waiting.
+     */
+    private void sweep(long now) {
+        long due = nextSweep.get();
+        if (now < due || !nextSweep.compareAndSet(due, now + refillMillis)) {
+            return;
+        }
+        buckets.values().removeIf(bucket -> now - time(bucket.get()) >= refillMillis);
+    }
+
+    private long refill(long state, long now) {
+        long elapsed = Math.max(0, now - time(state));
+        long tokens = state >>> TIME_BITS;
+        if (elapsed >= refillMillis) {
+            return capacity;
+        }
+        return Math.min(capacity, tokens + elapsed * milliTokensPerMilli);
+    }
+
+    private long now() {
+        return ((System.nanoTime() - origin) / 1_000_000) & TIME_MASK;
+    }
+
+    private static long time(long state) {
+        return state & TIME_MASK;
+    }
+
+    private static long pack(long milliTokens, long time) {
+        return (milliTokens << TIME_BITS) | time;
+    }
+}
@@ -0,0 +1,22 @@
+package io.github.wellpereiradevs.quarkussocial.replica;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.persistence.EntityManager;
+import javax.transaction.Transactional;
+import java.util.function.Function;
+
+/**
+ * Runs routed reads on the primary, joining the caller's transaction when there is one.
+ */
+@ApplicationScoped
+class PrimaryReads {
+
+    @Inject
+    EntityManager entityManager;
+
+    @Transactional
+    <T> T read(Function<EntityManager, T> query) {
+        return query.apply(entityManager);
+    }
+}
@@ -0,0 +1,162 @@
+package io.github.wellpereiradevs.quarkussocial.replica;
+
+import io.agroal.api.AgroalDataSource;
+import io.github.wellpereiradevs.quarkussocial.domain.event.FollowChanged;
+import io.github.wellpereiradevs.quarkussocial.domain.event.PostCreated;
+import io.github.wellpereiradevs.quarkussocial.domain.event.UserChanged;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.agroal.DataSource;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.CacheMode;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.jboss.logging.Logger;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.enterprise.event.TransactionPhase;
+import javax.inject.Inject;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceException;
+import javax.transaction.Status;
+import javax.transaction.SystemException;
+import javax.transaction.TransactionManager;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Sends reads made outside a transaction to the {@code replica} datasource. Replica reads use
+ * a read-only Hibernate session of the main persistence unit opened over a replica connection,
+ * so the same entities and queries work on both sides and the second-level cache is never
+ * filled with replica data.
+ *
+ * <p>Reads stay on the primary when a transaction is active, when the replica lags, and for
+ * {@code social.replica.read-your-writes} after any of the given users had a write committed,
+ * so users see their own posts and follows right away. A failed replica read is retried on
+ * the primary.
+ */
+@ApplicationScoped
+public class ReadRouter {
+
+    private static final Logger LOG = Logger.getLogger(ReadRouter.class);
+
+    private PrimaryReads primaryReads;
+    private SessionFactory sessionFactory;
+    private AgroalDataSource replica;
+    private ReplicaLagMonitor lagMonitor;
+    private TransactionManager transactionManager;
+    private boolean enabled;
+    private long readYourWritesNanos;
+    private int maxTrackedWriters;
+
+    private final Map<Long, Long> lastWrites = new ConcurrentHashMap<>();
+    private Counter replicaReads;
+    private Counter primaryReadsCounter;
+
+    @Inject
+    public ReadRouter(PrimaryReads primaryReads, SessionFactory sessionFactory,
+                      @DataSource("replica") AgroalDataSource replica,
+                      ReplicaLagMonitor lagMonitor, TransactionManager transactionManager, MeterRegistry registry,
+                      @ConfigProperty(name = "social.replica.enabled", defaultValue = "true") boolean enabled,
+                      @ConfigProperty(name = "social.replica.read-your-writes", defaultValue = "5S") Duration readYourWrites,
+                      @ConfigProperty(name = "social.replica.max-tracked-writers", defaultValue = "100000") int maxTrackedWriters) {
+        this.primaryReads = primaryReads;
+        this.sessionFactory = sessionFactory;
+        this.replica = replica;
+        this.lagMonitor = lagMonitor;
+        this.transactionManager = transactionManager;
+        this.enabled = enabled;
+        this.readYourWritesNanos = readYourWrites.toNanos();
+        this.maxTrackedWriters = maxTrackedWriters;
+        this.replicaReads = Counter.builder("social.replica.reads")
+                .tag("target", "replica")
+                .register(registry);
+        this.primaryReadsCounter = Counter.builder("social.replica.reads")
+                .tag("target", "primary")
+                .register(registry);
+    }
+
+    void onPostCreated(@Observes(during = TransactionPhase.AFTER_SUCCESS) PostCreated event) {
+        wrote(event.getUserId());
+    }
+
+    void onFollowChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) FollowChanged event) {
+        wrote(event.getUserId());
+        wrote(event.getFollowerId());
+    }
+
+    void onUserChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) UserChanged event) {
+        wrote(event.getUserId());
+    }
+
+    /**
+     * @param userIds users whose own writes must be visible to this read
+     */
+    public <T> T read(Function<EntityManager, T> query, Long... userIds) {
+        if (useReplica(userIds)) {
+            try {
+                T result = readReplica(query);
+                replicaReads.increment();
+                return result;
+            } catch (SQLException | PersistenceException e) {
+                LOG.warnf("Replica read failed, retrying on the primary: %s", e.getMessage());
+            }
+        }
+        primaryReadsCounter.increment();
+        return primaryReads.read(query);
+    }
+
+    private boolean useReplica(Long[] userIds) {
+        if (!enabled || lagMonitor.isLagging() || inTransaction()) {
+            return false;
+        }
+        long now = System.nanoTime();
+        for (Long userId : userIds) {
+            Long wroteAt = userId == null ? null : lastWrites.get(userId);
+            if (wroteAt != null && now - wroteAt < readYourWritesNanos) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private <T> T readReplica(Function<EntityManager, T> query) throws SQLException {
+        try (Connection connection = replica.getConnection()) {
+            connection.setReadOnly(true);
+            connection.setAutoCommit(false);
+            try (Session session = sessionFactory.withOptions().connection(connection).openSession()) {
+                session.setDefaultReadOnly(true);
+                session.setCacheMode(CacheMode.IGNORE);
+                session.setHibernateFlushMode(FlushMode.MANUAL);
+                return query.apply(session);
+            } finally {
+                connection.rollback();
+            }
+        }
+    }
+
+    private boolean inTransaction() {
+        try {
+            return transactionManager.getStatus() != Status.STATUS_NO_TRANSACTION;
+        } catch (SystemException e) {
+            return true;
+        }
+    }
+
+    private void wrote(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        lastWrites.put(userId, now);
+        if (lastWrites.size() > maxTrackedWriters) {
+            lastWrites.values().removeIf(wroteAt -> now - wroteAt >= readYourWritesNanos);
+        }
+    }
+}
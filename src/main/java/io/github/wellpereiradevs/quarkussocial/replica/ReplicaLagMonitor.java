@@ -0,0 +1,156 @@
+package io.github.wellpereiradevs.quarkussocial.replica;
+
+import io.agroal.api.AgroalDataSource;
+import io.github.wellpereiradevs.quarkussocial.domain.model.ReplicaHeartbeat;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.agroal.DataSource;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+import javax.persistence.EntityManager;
+import javax.transaction.TransactionManager;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures replication lag with a heartbeat row. Every tick reads the replica's copy of the
+ * row, compares it with the last beat written to the primary and then writes a new beat.
+ * While the replica is behind by more than {@code social.replica.max-lag}, or can't be read
+ * at all, {@link #isLagging()} is true and reads fall back to the primary. When the replica
+ * datasource points at the primary's own URL there is nothing to measure and no beat is written.
+ */
+@ApplicationScoped
+public class ReplicaLagMonitor {
+
+    private static final Logger LOG = Logger.getLogger(ReplicaLagMonitor.class);
+    private static final int HEARTBEAT_ID = 1;
+
+    private EntityManager entityManager;
+    private TransactionManager transactionManager;
+    private AgroalDataSource replica;
+    private MeterRegistry registry;
+    private boolean enabled;
+    private boolean samePrimary;
+    private long maxLagMillis;
+    private long intervalMillis;
+
+    private ScheduledExecutorService scheduler;
+    private long lastBeat = -1;
+    private volatile long lagMillis = -1;
+
+    @Inject
+    public ReplicaLagMonitor(EntityManager entityManager, TransactionManager transactionManager,
+                             @DataSource("replica") AgroalDataSource replica,
+                             MeterRegistry registry,
+                             @ConfigProperty(name = "quarkus.datasource.jdbc.url") Optional<String> primaryUrl,
+                             @ConfigProperty(name = "quarkus.datasource.\"replica\".jdbc.url") Optional<String> replicaUrl,
+                             @ConfigProperty(name = "social.replica.enabled", defaultValue = "true") boolean enabled,
+                             @ConfigProperty(name = "social.replica.max-lag", defaultValue = "2S") Duration maxLag,
+                             @ConfigProperty(name = "social.replica.lag-check-interval", defaultValue = "1S") Duration interval) {
+        this.entityManager = entityManager;
+        this.transactionManager = transactionManager;
+        this.replica = replica;
+        this.registry = registry;
+        this.enabled = enabled;
+        this.samePrimary = primaryUrl.isPresent() && primaryUrl.equals(replicaUrl);
+        this.maxLagMillis = maxLag.toMillis();
+        this.intervalMillis = interval.toMillis();
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (samePrimary) {
+            lagMillis = 0;
+            LOG.info("The replica datasource is the primary, replication lag is not measured");
+            return;
+        }
+        Gauge.builder("social.replica.lag", this, monitor -> monitor.lagMillis < 0 ? Double.NaN : monitor.lagMillis)
+                .description("Replication lag seen through the heartbeat row, NaN while the replica can't be read")
+                .baseUnit("milliseconds")
+                .register(registry);
+        check();
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::check, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    public boolean isLagging() {
+        long lag = lagMillis;
+        return lag < 0 || lag > maxLagMillis;
+    }
+
+    /**
+     * Runs on the monitor thread only, apart from the first check during startup.
+     */
+    synchronized void check() {
+        long now = System.currentTimeMillis();
+        try {
+            Long replicated = readBeat();
+            if (replicated == null) {
+                lagMillis = lastBeat < 0 ? 0 : now - lastBeat;
+            } else {
+                lagMillis = replicated >= lastBeat ? 0 : now - replicated;
+            }
+        } catch (SQLException e) {
+            if (lagMillis >= 0) {
+                LOG.warnf("Replica unreachable, reading from the primary: %s", e.getMessage());
+            }
+            lagMillis = -1;
+        }
+        try {
+            writeBeat(now);
+            lastBeat = now;
+        } catch (Exception e) {
+            LOG.warnf("Could not write the replica heartbeat: %s", e.getMessage());
+        }
+    }
+
+    private Long readBeat() throws SQLException {
+        try (Connection connection = replica.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "select beat from replica_heartbeat where id = ?")) {
+            statement.setInt(1, HEARTBEAT_ID);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? resultSet.getLong(1) : null;
+            }
+        }
+    }
+
+    private void writeBeat(long beat) throws Exception {
+        var heartbeat = new ReplicaHeartbeat();
+        heartbeat.setId(HEARTBEAT_ID);
+        heartbeat.setBeat(beat);
+        transactionManager.begin();
+        try {
+            entityManager.merge(heartbeat);
+        } catch (RuntimeException e) {
+            transactionManager.rollback();
+            throw e;
+        }
+        transactionManager.commit();
+    }
+}
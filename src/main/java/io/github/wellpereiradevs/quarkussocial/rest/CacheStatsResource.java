@@ -0,0 +1,51 @@
+package io.github.wellpereiradevs.quarkussocial.rest;
+
+import io.github.wellpereiradevs.quarkussocial.rest.dto.CacheRegionResponse;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+
+import javax.inject.Inject;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import java.util.ArrayList;
+import java.util.List;
+
+@Path("/cache/stats")
+@Produces(MediaType.APPLICATION_JSON)
+public class CacheStatsResource {
+
+    private SessionFactory sessionFactory;
+
+    @Inject
+    public CacheStatsResource(SessionFactory sessionFactory) {
+        this.sessionFactory = sessionFactory;
+    }
+
+    @GET
+    public Response cacheStats() {
+        Statistics statistics = sessionFactory.getStatistics();
+
+        List<CacheRegionResponse> regions = new ArrayList<>();
+        for (String regionName : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics region = statistics.getDomainDataRegionStatistics(regionName);
+            if (region == null) {
+                continue;
+            }
+
+            var response = new CacheRegionResponse();
+            response.setRegion(regionName);
+            response.setHitCount(region.getHitCount());
+            response.setMissCount(region.getMissCount());
+            response.setPutCount(region.getPutCount());
+            response.setElementCount(region.getElementCountInMemory());
+            long lookups = region.getHitCount() + region.getMissCount();
+            response.setHitRatio(lookups == 0 ? 0.0 : (double) region.getHitCount() / lookups);
+            regions.add(response);
+        }
+        return Response.ok(regions).build();
+    }
+}
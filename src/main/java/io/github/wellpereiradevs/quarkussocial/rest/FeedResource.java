@@ -0,0 +1,78 @@
+package io.github.wellpereiradevs.quarkussocial.rest;
+
+import io.github.wellpereiradevs.quarkussocial.domain.model.TimelineEntry;
+import io.github.wellpereiradevs.quarkussocial.domain.model.User;
+import io.github.wellpereiradevs.quarkussocial.domain.repository.UserRepository;
+import io.github.wellpereiradevs.quarkussocial.domain.service.TimelineService;
+import io.github.wellpereiradevs.quarkussocial.rest.cbor.CborMessageBodyWriter;
+import io.github.wellpereiradevs.quarkussocial.rest.dto.PageCursor;
+import io.github.wellpereiradevs.quarkussocial.rest.dto.PageResponse;
+import io.github.wellpereiradevs.quarkussocial.rest.dto.PostItemResponse;
+
+import javax.inject.Inject;
+import javax.ws.rs.*;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import java.util.stream.Collectors;
+
+@Path("/users/{userId}/feed")
+@Produces(MediaType.APPLICATION_JSON)
+public class FeedResource {
+
+    private static final String DEFAULT_PAGE_SIZE = "20";
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private UserRepository userRepository;
+    private TimelineService timelineService;
+
+    @Inject
+    public FeedResource(UserRepository userRepository, TimelineService timelineService) {
+        this.userRepository = userRepository;
+        this.timelineService = timelineService;
+    }
+
+    @GET
+    @Produces({MediaType.APPLICATION_JSON, CborMessageBodyWriter.APPLICATION_CBOR_QS})
+    public Response feed(@PathParam("userId") Long userId,
+                         @QueryParam("cursor") String cursor,
+                         @QueryParam("limit") @DefaultValue(DEFAULT_PAGE_SIZE) int limit) {
+        User user = userRepository.findById(userId);
+        if (user == null) {
+            return Response.status(Response.Status.NOT_FOUND).build();
+        }
+
+        PageCursor after = null;
+        if (cursor != null) {
+            try {
+                after = PageCursor.decode(cursor);
+                if (after.getDateTime() == null) {
+                    throw new IllegalArgumentException("Invalid cursor");
+                }
+            } catch (IllegalArgumentException e) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity("Invalid cursor")
+                        .type(MediaType.TEXT_PLAIN)
+                        .build();
+            }
+        }
+
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        var entries = timelineService.read(userId,
+                after == null ? null : after.getDateTime(),
+                after == null ? null : after.getId(),
+                pageSize + 1);
+
+        String next = null;
+        if (entries.size() > pageSize) {
+            entries = entries.subList(0, pageSize);
+            TimelineEntry last = entries.get(pageSize - 1);
+            next = PageCursor.of(last.getDateTime(), last.getPostId()).encode();
+        }
+
+        var content = entries.stream()
+                .map(PostItemResponse::fromEntry)
+                .collect(Collectors.toList());
+
+        return Response.ok(PageResponse.of(content, next)).build();
+    }
+}
@@ -0,0 +1,108 @@
+package io.github.wellpereiradevs.quarkussocial.rest;
+
+import io.github.wellpereiradevs.quarkussocial.domain.model.FollowEdge;
+import io.github.wellpereiradevs.quarkussocial.domain.repository.FollowerRepository;
+import io.github.wellpereiradevs.quarkussocial.domain.repository.UserRepository;
+import io.github.wellpereiradevs.quarkussocial.rest.dto.BatchFollowRequest;
+import io.github.wellpereiradevs.quarkussocial.rest.dto.BatchFollowResponse;
+import io.github.wellpereiradevs.quarkussocial.rest.dto.FieldError;
+import io.github.wellpereiradevs.quarkussocial.rest.dto.FollowAction;
+import io.github.wellpereiradevs.quarkussocial.rest.dto.FollowOperation;
+
+import javax.inject.Inject;
+import javax.transaction.Transactional;
+import javax.ws.rs.*;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Path("/followers/batch")
+@Consumes(MediaType.APPLICATION_JSON)
+@Produces(MediaType.APPLICATION_JSON)
+public class FollowerBatchResource {
+
+    private static final int MAX_OPERATIONS = 1000;
+
+    private UserRepository userRepository;
+    private FollowerRepository followerRepository;
+
+    @Inject
+    public FollowerBatchResource(UserRepository userRepository, FollowerRepository followerRepository) {
+        this.userRepository = userRepository;
+        this.followerRepository = followerRepository;
+    }
+
+    @POST
+    @Transactional
+    public Response applyBatch(BatchFollowRequest request) {
+        List<FollowOperation> operations = request == null || request.getOperations() == null
+                ? List.of()
+                : request.getOperations();
+
+        if (operations.size() > MAX_OPERATIONS) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("A batch accepts at most " + MAX_OPERATIONS + " operations")
+                    .build();
+        }
+
+        Set<Long> userIds = new HashSet<>();
+        for (FollowOperation operation : operations) {
+            if (operation.getUserId() != null) {
+                userIds.add(operation.getUserId());
+            }
+            if (operation.getFollowerId() != null) {
+                userIds.add(operation.getFollowerId());
+            }
+        }
+        Set<Long> existingUsers = userRepository.findExistingIds(userIds);
+
+        List<FieldError> failures = new ArrayList<>();
+        // later operations on the same edge win, like they would with single calls
+        Map<FollowEdge, FollowAction> requested = new LinkedHashMap<>();
+        for (int i = 0; i < operations.size(); i++) {
+            FollowOperation operation = operations.get(i);
+            String field = "operations[" + i + "]";
+
+            if (operation.getUserId() == null || operation.getFollowerId() == null || operation.getAction() == null) {
+                failures.add(new FieldError(field, "userId, followerId and action are required"));
+            } else if (operation.getUserId().equals(operation.getFollowerId())) {
+                failures.add(new FieldError(field, "You can't follow yourself"));
+            } else if (!existingUsers.contains(operation.getUserId())) {
+                failures.add(new FieldError(field + ".userId", "Nonexistent userId"));
+            } else if (!existingUsers.contains(operation.getFollowerId())) {
+                failures.add(new FieldError(field + ".followerId", "Nonexistent followerId"));
+            } else {
+                requested.put(new FollowEdge(operation.getUserId(), operation.getFollowerId()), operation.getAction());
+            }
+        }
+
+        Map<FollowEdge, Long> existingEdges = followerRepository.findEdgeIds(requested.keySet());
+
+        List<FollowEdge> toFollow = new ArrayList<>();
+        Map<FollowEdge, Long> toUnfollow = new HashMap<>();
+        requested.forEach((edge, action) -> {
+            Long edgeId = existingEdges.get(edge);
+            if (action == FollowAction.FOLLOW && edgeId == null) {
+                toFollow.add(edge);
+            } else if (action == FollowAction.UNFOLLOW && edgeId != null) {
+                toUnfollow.put(edge, edgeId);
+            }
+        });
+
+        followerRepository.follow(toFollow);
+        followerRepository.unfollow(toUnfollow);
+
+        var response = new BatchFollowResponse();
+        response.setFollowed(toFollow.size());
+        response.setUnfollowed(toUnfollow.size());
+        response.setUnchanged(requested.size() - toFollow.size() - toUnfollow.size());
+        response.setFailures(failures);
+        return Response.ok(response).build();
+    }
+}
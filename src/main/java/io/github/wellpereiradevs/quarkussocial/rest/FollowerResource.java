@@ -1,36 +1,54 @@
 package io.github.wellpereiradevs.quarkussocial.rest;
 
-import io.github.wellpereiradevs.quarkussocial.domain.model.Follower;
 import io.github.wellpereiradevs.quarkussocial.domain.repository.FollowerRepository;
 import io.github.wellpereiradevs.quarkussocial.domain.repository.UserRepository;
+import io.github.wellpereiradevs.quarkussocial.domain.service.UserVersions;
+import io.github.wellpereiradevs.quarkussocial.ratelimit.RateLimitKey;
+import io.github.wellpereiradevs.quarkussocial.ratelimit.RateLimited;
+import io.github.wellpereiradevs.quarkussocial.rest.cbor.CborMessageBodyWriter;
 import io.github.wellpereiradevs.quarkussocial.rest.dto.CreateFollowerRequest;
-import io.github.wellpereiradevs.quarkussocial.rest.dto.FollowerResponse;
 import io.github.wellpereiradevs.quarkussocial.rest.dto.FollowersPerUseResponse;
+import io.github.wellpereiradevs.quarkussocial.rest.dto.PageCursor;
 
 import javax.inject.Inject;
 import javax.transaction.Transactional;
 import javax.ws.rs.*;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
-import java.util.stream.Collectors;
+import javax.ws.rs.core.Variant;
+import java.util.List;
 
 @Path("/users/{userId}/followers")
 @Consumes(MediaType.APPLICATION_JSON)
 @Produces(MediaType.APPLICATION_JSON)
 public class FollowerResource {
 
+    private static final String DEFAULT_PAGE_SIZE = "100";
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final List<Variant> REPRESENTATIONS = Variant
+            .mediaTypes(MediaType.APPLICATION_JSON_TYPE, CborMessageBodyWriter.APPLICATION_CBOR_TYPE)
+            .build();
+
     private UserRepository userRepository;
     private FollowerRepository followerRepository;
+    private UserVersions userVersions;
 
     @Inject
-    public FollowerResource(UserRepository userRepository, FollowerRepository followerRepository) {
+    public FollowerResource(UserRepository userRepository, FollowerRepository followerRepository,
+                            UserVersions userVersions) {
         this.userRepository = userRepository;
         this.followerRepository = followerRepository;
+        this.userVersions = userVersions;
     }
 
     @PUT
     @Transactional
-    public Response followUser(@PathParam("userId") Long userId, CreateFollowerRequest followerRequest) {
+    @RateLimited("follow-user")
+    public Response followUser(@PathParam("userId") Long userId, @RateLimitKey CreateFollowerRequest followerRequest) {
 
         if (userId.equals(followerRequest.getFollowerId())) {
             return Response.status(Response.Status.CONFLICT)
@@ -43,37 +61,66 @@ public class FollowerResource {
             return Response.status(Response.Status.NOT_FOUND).build();
         }
 
-        var follower = userRepository.findById(followerRequest.getFollowerId());
-
-        boolean follows = followerRepository.follows(follower, user);
-
-        if (!follows) {
-            var entity = new Follower();
-            entity.setUser(user);
-            entity.setFollower(follower);
-
-            followerRepository.persist(entity);
+        var followerId = followerRequest.getFollowerId();
+        if (followerId == null || userRepository.findById(followerId) == null) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("Nonexistent followerId")
+                    .build();
         }
 
+        followerRepository.followIfAbsent(userId, followerId);
+
         return Response.status(Response.Status.NO_CONTENT).build();
     }
 
     @GET
-    public Response listFollowers(@PathParam("userId") Long userId) {
+    @Produces({MediaType.APPLICATION_JSON, CborMessageBodyWriter.APPLICATION_CBOR_QS})
+    public Response listFollowers(@PathParam("userId") Long userId,
+                                  @QueryParam("cursor") String cursor,
+                                  @QueryParam("limit") @DefaultValue(DEFAULT_PAGE_SIZE) int limit,
+                                  @Context Request request) {
         var user = userRepository.findById(userId);
         if (user == null) {
             return Response.status(Response.Status.NOT_FOUND).build();
         }
 
-        var list = followerRepository.findByUser(userId);
-        FollowersPerUseResponse responseObject = new FollowersPerUseResponse();
-        responseObject.setFollowersCount(list.size());
+        var version = userVersions.current(userId);
+        var tag = new EntityTag(version.getTag(request.selectVariant(REPRESENTATIONS).getMediaType().getSubtype()));
+        var notModified = request.evaluatePreconditions(version.getLastModified(), tag);
+        if (notModified != null) {
+            return notModified.header(HttpHeaders.VARY, HttpHeaders.ACCEPT).build();
+        }
+
+        Long afterId = null;
+        if (cursor != null) {
+            try {
+                afterId = PageCursor.decode(cursor).getId();
+            } catch (IllegalArgumentException e) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity("Invalid cursor")
+                        .type(MediaType.TEXT_PLAIN)
+                        .build();
+            }
+        }
 
-        var followerList = list.stream().map(FollowerResponse::new)
-                .collect(Collectors.toList());
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        var followerList = followerRepository.findPageByUser(userId, afterId, pageSize + 1);
 
+        String next = null;
+        if (followerList.size() > pageSize) {
+            followerList = followerList.subList(0, pageSize);
+            next = PageCursor.of(followerList.get(pageSize - 1).getId()).encode();
+        }
+
+        FollowersPerUseResponse responseObject = new FollowersPerUseResponse();
+        responseObject.setFollowersCount(followerRepository.countByUser(userId));
         responseObject.setContent(followerList);
-        return Response.ok(responseObject).build();
+        responseObject.setNext(next);
+        return Response.ok(responseObject)
+                .tag(tag)
+                .lastModified(version.getLastModified())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                .build();
     }
 
     @DELETE
@@ -0,0 +1,53 @@
+package io.github.wellpereiradevs.quarkussocial.rest;
+
+import io.github.wellpereiradevs.quarkussocial.domain.graph.FollowSuggestions;
+import io.github.wellpereiradevs.quarkussocial.domain.repository.UserRepository;
+import io.github.wellpereiradevs.quarkussocial.rest.cbor.CborMessageBodyWriter;
+import io.github.wellpereiradevs.quarkussocial.rest.dto.MutualsResponse;
+
+import javax.inject.Inject;
+import javax.ws.rs.*;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+@Path("/users/{userId}/mutuals")
+@Produces(MediaType.APPLICATION_JSON)
+public class MutualResource {
+
+    private static final String DEFAULT_LIMIT = "100";
+    private static final int MAX_LIMIT = 1000;
+
+    private UserRepository userRepository;
+    private FollowSuggestions followSuggestions;
+
+    @Inject
+    public MutualResource(UserRepository userRepository, FollowSuggestions followSuggestions) {
+        this.userRepository = userRepository;
+        this.followSuggestions = followSuggestions;
+    }
+
+    /**
+     * Users that {@code userId} follows who also follow {@code otherId}.
+     */
+    @GET
+    @Produces({MediaType.APPLICATION_JSON, CborMessageBodyWriter.APPLICATION_CBOR_QS})
+    @Path("{otherId}")
+    public Response mutuals(@PathParam("userId") Long userId,
+                            @PathParam("otherId") Long otherId,
+                            @QueryParam("limit") @DefaultValue(DEFAULT_LIMIT) int limit) {
+        if (userRepository.findById(userId) == null || userRepository.findById(otherId) == null) {
+            return Response.status(Response.Status.NOT_FOUND).build();
+        }
+
+        long[] mutuals = followSuggestions.mutuals(userId, otherId);
+        var response = new MutualsResponse();
+        response.setCount(mutuals.length);
+        response.setUserIds(Arrays.stream(mutuals)
+                .limit(Math.max(1, Math.min(limit, MAX_LIMIT)))
+                .boxed()
+                .collect(Collectors.toList()));
+        return Response.ok(response).build();
+    }
+}
@@ -0,0 +1,103 @@
+package io.github.wellpereiradevs.quarkussocial.rest;
+
+import io.github.wellpereiradevs.quarkussocial.domain.model.PostDraft;
+import io.github.wellpereiradevs.quarkussocial.domain.service.PostIngestionService;
+import io.github.wellpereiradevs.quarkussocial.rest.dto.IngestPostRequest;
+import io.github.wellpereiradevs.quarkussocial.rest.dto.IngestReport;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import javax.inject.Inject;
+import javax.json.bind.Jsonb;
+import javax.json.bind.JsonbException;
+import javax.ws.rs.*;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@Path("/posts/ingest")
+@Produces(MediaType.APPLICATION_JSON)
+public class PostIngestResource {
+
+    public static final String APPLICATION_NDJSON = "application/x-ndjson";
+
+    private static final Logger LOG = Logger.getLogger(PostIngestResource.class);
+    private static final int MAX_TEXT_LENGTH = 150;
+
+    private PostIngestionService ingestionService;
+    private Jsonb jsonb;
+    private int chunkSize;
+
+    @Inject
+    public PostIngestResource(PostIngestionService ingestionService,
+                              Jsonb jsonb,
+                              @ConfigProperty(name = "social.ingest.chunk-size", defaultValue = "500") int chunkSize) {
+        this.ingestionService = ingestionService;
+        this.jsonb = jsonb;
+        this.chunkSize = chunkSize;
+    }
+
+    @POST
+    @Consumes(APPLICATION_NDJSON)
+    public Response ingest(InputStream body) throws IOException {
+        var report = new IngestReport();
+        List<PostDraft> chunk = new ArrayList<>(chunkSize);
+
+        try (var reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String line;
+            long lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                IngestPostRequest request;
+                try {
+                    request = jsonb.fromJson(line, IngestPostRequest.class);
+                } catch (JsonbException e) {
+                    report.reject(lineNumber, "Invalid JSON");
+                    continue;
+                }
+
+                if (request.getUserId() == null) {
+                    report.reject(lineNumber, "userId is required");
+                } else if (request.getText() == null || request.getText().isBlank()) {
+                    report.reject(lineNumber, "Text is required");
+                } else if (request.getText().length() > MAX_TEXT_LENGTH) {
+                    report.reject(lineNumber, "Text is longer than " + MAX_TEXT_LENGTH + " characters");
+                } else {
+                    chunk.add(new PostDraft(lineNumber, request.getUserId(), request.getText(), request.getDateTime()));
+                    if (chunk.size() == chunkSize) {
+                        persist(chunk, report);
+                        chunk.clear();
+                    }
+                }
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            persist(chunk, report);
+        }
+        return Response.ok(report.finish()).build();
+    }
+
+    private void persist(List<PostDraft> chunk, IngestReport report) {
+        try {
+            Map<Long, String> rejected = ingestionService.persistChunk(chunk);
+            report.accept(chunk.size() - rejected.size());
+            rejected.forEach(report::reject);
+        } catch (RuntimeException e) {
+            LOG.warnf(e, "Could not store posts from lines %d to %d",
+                    chunk.get(0).getLine(), chunk.get(chunk.size() - 1).getLine());
+            chunk.forEach(draft -> report.reject(draft.getLine(), "Could not be stored"));
+        }
+    }
+}
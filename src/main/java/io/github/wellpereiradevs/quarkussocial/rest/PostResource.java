@@ -1,19 +1,33 @@
 package io.github.wellpereiradevs.quarkussocial.rest;
 
+import io.github.wellpereiradevs.quarkussocial.domain.graph.FollowGraph;
 import io.github.wellpereiradevs.quarkussocial.domain.model.Post;
 import io.github.wellpereiradevs.quarkussocial.domain.model.User;
-import io.github.wellpereiradevs.quarkussocial.domain.repository.FollowerRepository;
 import io.github.wellpereiradevs.quarkussocial.domain.repository.PostRepository;
 import io.github.wellpereiradevs.quarkussocial.domain.repository.UserRepository;
+import io.github.wellpereiradevs.quarkussocial.domain.service.PostIngestionService;
+import io.github.wellpereiradevs.quarkussocial.domain.service.PostWriteBehind;
+import io.github.wellpereiradevs.quarkussocial.domain.service.UserVersions;
+import io.github.wellpereiradevs.quarkussocial.ratelimit.RateLimitKey;
+import io.github.wellpereiradevs.quarkussocial.ratelimit.RateLimited;
+import io.github.wellpereiradevs.quarkussocial.rest.cbor.CborMessageBodyWriter;
 import io.github.wellpereiradevs.quarkussocial.rest.dto.CreatePostRequest;
+import io.github.wellpereiradevs.quarkussocial.rest.dto.PageCursor;
+import io.github.wellpereiradevs.quarkussocial.rest.dto.PostAcceptedResponse;
+import io.github.wellpereiradevs.quarkussocial.rest.dto.PageResponse;
 import io.github.wellpereiradevs.quarkussocial.rest.dto.PostResponse;
-import io.quarkus.panache.common.Sort;
 
 import javax.inject.Inject;
-import javax.transaction.Transactional;
 import javax.ws.rs.*;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.GenericEntity;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Variant;
+import java.util.List;
 import java.util.stream.Collectors;
 
 @Path("/users/{userId}/posts")
@@ -21,20 +35,40 @@ import java.util.stream.Collectors;
 @Produces(MediaType.APPLICATION_JSON)
 public class PostResource {
 
+    private static final String DEFAULT_PAGE_SIZE = "20";
+    private static final String VARY = "followerId, " + HttpHeaders.ACCEPT;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final List<Variant> REPRESENTATIONS = Variant
+            .mediaTypes(MediaType.APPLICATION_JSON_TYPE, CborMessageBodyWriter.APPLICATION_CBOR_TYPE)
+            .build();
+
     private UserRepository userRepository;
     private PostRepository postRepository;
-    private FollowerRepository followerRepository;
+    private UserVersions userVersions;
+    private FollowGraph followGraph;
+    private PostWriteBehind writeBehind;
+    private PostIngestionService ingestionService;
 
     @Inject
-    public PostResource(UserRepository userRepository, PostRepository postRepository, FollowerRepository followerRepository) {
+    public PostResource(UserRepository userRepository, PostRepository postRepository,
+                        UserVersions userVersions, FollowGraph followGraph, PostWriteBehind writeBehind,
+                        PostIngestionService ingestionService) {
         this.userRepository = userRepository;
         this.postRepository = postRepository;
-        this.followerRepository = followerRepository;
+        this.userVersions = userVersions;
+        this.followGraph = followGraph;
+        this.writeBehind = writeBehind;
+        this.ingestionService = ingestionService;
     }
 
+    /**
+     * Runs without a transaction: the author comes from the second-level cache and, with
+     * write-behind, the id from a reserved block, so an accepted post costs no round trip
+     * in the common case. Otherwise the post is stored by {@link PostIngestionService#writePost(Post)}.
+     */
     @POST
-    @Transactional
-    public Response savePost(@PathParam("userId") Long userId, CreatePostRequest request) {
+    @RateLimited("save-post")
+    public Response savePost(@PathParam("userId") @RateLimitKey Long userId, CreatePostRequest request) {
         User user = userRepository.findById(userId);
         if (user == null) {
             return Response.status(Response.Status.NOT_FOUND).build();
@@ -44,49 +78,107 @@ public class PostResource {
         post.setText(request.getText());
         post.setUser(user);
 
-        postRepository.persist(post);
+        if (writeBehind.isEnabled()) {
+            post.prePersist();
+            post.setId(postRepository.reserveId(post));
+            if (!writeBehind.offer(post)) {
+                return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, 1)
+                        .entity("Too many pending posts, try again later")
+                        .build();
+            }
+            return Response.accepted(PostAcceptedResponse.of(post.getId())).build();
+        }
+
+        ingestionService.writePost(post);
 
         return Response.status(Response.Status.CREATED).build();
     }
 
     @GET
-    public Response listPost(@PathParam("userId") Long userId, @HeaderParam("followerId") Long followerId) {
-        User user = userRepository.findById(userId);
-        if (user == null) {
-            return Response.status(Response.Status.NOT_FOUND).build();
-        }
-
+    @Produces({MediaType.APPLICATION_JSON, CborMessageBodyWriter.APPLICATION_CBOR_QS})
+    public Response listPost(@PathParam("userId") Long userId,
+                             @HeaderParam("followerId") Long followerId,
+                             @QueryParam("cursor") String cursor,
+                             @QueryParam("limit") @DefaultValue(DEFAULT_PAGE_SIZE) int limit,
+                             @Context Request request) {
         if (followerId == null) {
+            if (userRepository.findById(userId) == null) {
+                return Response.status(Response.Status.NOT_FOUND).build();
+            }
             return Response.status(Response.Status.BAD_REQUEST)
                     .entity("You forgot the header: followerId")
+                    .type(MediaType.TEXT_PLAIN)
                     .build();
         }
 
-        User follower = userRepository.findById(followerId);
+        PageCursor after = null;
+        if (cursor != null) {
+            try {
+                after = PageCursor.decode(cursor);
+                if (after.getDateTime() == null) {
+                    throw new IllegalArgumentException("Invalid cursor");
+                }
+            } catch (IllegalArgumentException e) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity("Invalid cursor")
+                        .type(MediaType.TEXT_PLAIN)
+                        .build();
+            }
+        }
+
+        var version = userVersions.current(userId);
+        var tag = new EntityTag(version.getTag(request.selectVariant(REPRESENTATIONS).getMediaType().getSubtype()));
+        if (followGraph.follows(followerId, userId)) {
+            var notModified = request.evaluatePreconditions(version.getLastModified(), tag);
+            if (notModified != null) {
+                return notModified.header(HttpHeaders.VARY, VARY).build();
+            }
+        }
+
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        var page = postRepository.findVisiblePage(userId, followerId,
+                after == null ? null : after.getDateTime(),
+                after == null ? null : after.getId(),
+                pageSize + 1);
 
-        if (follower == null) {
+        if (!page.isUserFound()) {
+            return Response.status(Response.Status.NOT_FOUND).build();
+        }
+
+        if (!page.isFollowerFound()) {
             return Response.status(Response.Status.BAD_REQUEST)
                     .entity("Nonexistent followerId")
+                    .type(MediaType.TEXT_PLAIN)
                     .build();
         }
 
-        boolean follows = followerRepository.follows(follower, user);
-
-        if (!follows) {
+        if (!page.isFollowing()) {
             return Response.status(Response.Status.FORBIDDEN)
                     .entity("You can't see these posts.")
+                    .type(MediaType.TEXT_PLAIN)
                     .build();
         }
 
-
-        var query = postRepository.find("user", Sort.by("dateTime", Sort.Direction.Descending) , user);
-        var list = query.list();
+        var list = page.getPosts();
+        String next = null;
+        if (list.size() > pageSize) {
+            list = list.subList(0, pageSize);
+            Post last = list.get(pageSize - 1);
+            next = PageCursor.of(last.getDateTime(), last.getId()).encode();
+        }
 
         var postResponseList = list.stream()
                 // .map(post -> PostResponse.fromEntity(post));
                 .map(PostResponse::fromEntity)
                 .collect(Collectors.toList());
 
-        return Response.ok(postResponseList).build();
+        var body = new GenericEntity<PageResponse<PostResponse>>(PageResponse.of(postResponseList, next)) {
+        };
+        return Response.ok(body)
+                .tag(tag)
+                .lastModified(version.getLastModified())
+                .header(HttpHeaders.VARY, VARY)
+                .build();
     }
 }
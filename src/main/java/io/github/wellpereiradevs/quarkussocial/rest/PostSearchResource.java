@@ -0,0 +1,117 @@
+package io.github.wellpereiradevs.quarkussocial.rest;
+
+import io.github.wellpereiradevs.quarkussocial.domain.model.Post;
+import io.github.wellpereiradevs.quarkussocial.domain.repository.PostRepository;
+import io.github.wellpereiradevs.quarkussocial.domain.repository.UserRepository;
+import io.github.wellpereiradevs.quarkussocial.domain.search.PostSearchIndex;
+import io.github.wellpereiradevs.quarkussocial.domain.search.SearchQuery;
+import io.github.wellpereiradevs.quarkussocial.rest.cbor.CborMessageBodyWriter;
+import io.github.wellpereiradevs.quarkussocial.rest.dto.PageCursor;
+import io.github.wellpereiradevs.quarkussocial.rest.dto.PageResponse;
+import io.github.wellpereiradevs.quarkussocial.rest.dto.PostItemResponse;
+
+import javax.inject.Inject;
+import javax.ws.rs.*;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Path("/posts/search")
+@Produces(MediaType.APPLICATION_JSON)
+public class PostSearchResource {
+
+    private static final String DEFAULT_PAGE_SIZE = "20";
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private UserRepository userRepository;
+    private PostRepository postRepository;
+    private PostSearchIndex searchIndex;
+
+    @Inject
+    public PostSearchResource(UserRepository userRepository, PostRepository postRepository,
+                              PostSearchIndex searchIndex) {
+        this.userRepository = userRepository;
+        this.postRepository = postRepository;
+        this.searchIndex = searchIndex;
+    }
+
+    @GET
+    @Produces({MediaType.APPLICATION_JSON, CborMessageBodyWriter.APPLICATION_CBOR_QS})
+    public Response search(@QueryParam("q") String q,
+                           @HeaderParam("followerId") Long followerId,
+                           @QueryParam("cursor") String cursor,
+                           @QueryParam("limit") @DefaultValue(DEFAULT_PAGE_SIZE) int limit) {
+        if (followerId == null) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("You forgot the header: followerId")
+                    .type(MediaType.TEXT_PLAIN)
+                    .build();
+        }
+
+        SearchQuery query;
+        try {
+            query = SearchQuery.parse(q);
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(e.getMessage())
+                    .type(MediaType.TEXT_PLAIN)
+                    .build();
+        }
+
+        if (userRepository.findById(followerId) == null) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("Nonexistent followerId")
+                    .type(MediaType.TEXT_PLAIN)
+                    .build();
+        }
+
+        PageCursor after = null;
+        if (cursor != null) {
+            try {
+                after = PageCursor.decode(cursor);
+                if (after.getDateTime() == null) {
+                    throw new IllegalArgumentException("Invalid cursor");
+                }
+            } catch (IllegalArgumentException e) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity("Invalid cursor")
+                        .type(MediaType.TEXT_PLAIN)
+                        .build();
+            }
+        }
+
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<Long> ids = searchIndex.search(query, followerId,
+                after == null ? null : after.getDateTime(),
+                after == null ? null : after.getId(),
+                pageSize + 1);
+
+        boolean hasMore = ids.size() > pageSize;
+        if (hasMore) {
+            ids = ids.subList(0, pageSize);
+        }
+
+        Map<Long, Post> posts = postRepository.findByIds(ids).stream()
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+        List<Post> page = ids.stream()
+                .map(posts::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+
+        String next = null;
+        if (hasMore && !page.isEmpty()) {
+            Post last = page.get(page.size() - 1);
+            next = PageCursor.of(last.getDateTime(), last.getId()).encode();
+        }
+
+        var content = page.stream()
+                .map(PostItemResponse::fromEntity)
+                .collect(Collectors.toList());
+
+        return Response.ok(PageResponse.of(content, next)).build();
+    }
+}
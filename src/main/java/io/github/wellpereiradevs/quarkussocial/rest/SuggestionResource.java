@@ -0,0 +1,66 @@
+package io.github.wellpereiradevs.quarkussocial.rest;
+
+import io.github.wellpereiradevs.quarkussocial.domain.graph.FollowSuggestions;
+import io.github.wellpereiradevs.quarkussocial.domain.model.User;
+import io.github.wellpereiradevs.quarkussocial.domain.repository.UserRepository;
+import io.github.wellpereiradevs.quarkussocial.rest.cbor.CborMessageBodyWriter;
+import io.github.wellpereiradevs.quarkussocial.rest.dto.SuggestionResponse;
+
+import javax.inject.Inject;
+import javax.ws.rs.*;
+import javax.ws.rs.core.GenericEntity;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Path("/users/{userId}/suggestions")
+@Produces(MediaType.APPLICATION_JSON)
+public class SuggestionResource {
+
+    private static final String DEFAULT_LIMIT = "20";
+    private static final int MAX_LIMIT = 100;
+
+    private UserRepository userRepository;
+    private FollowSuggestions followSuggestions;
+
+    @Inject
+    public SuggestionResource(UserRepository userRepository, FollowSuggestions followSuggestions) {
+        this.userRepository = userRepository;
+        this.followSuggestions = followSuggestions;
+    }
+
+    @GET
+    @Produces({MediaType.APPLICATION_JSON, CborMessageBodyWriter.APPLICATION_CBOR_QS})
+    public Response suggestions(@PathParam("userId") Long userId,
+                                @QueryParam("limit") @DefaultValue(DEFAULT_LIMIT) int limit) {
+        if (userRepository.findById(userId) == null) {
+            return Response.status(Response.Status.NOT_FOUND).build();
+        }
+
+        var suggestions = followSuggestions.suggest(userId, Math.max(1, Math.min(limit, MAX_LIMIT)));
+        List<Long> ids = suggestions.stream()
+                .map(FollowSuggestions.Suggestion::getUserId)
+                .collect(Collectors.toList());
+        Map<Long, User> users = userRepository.findByIds(ids).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        List<SuggestionResponse> content = new ArrayList<>(suggestions.size());
+        for (var suggestion : suggestions) {
+            User user = users.get(suggestion.getUserId());
+            if (user == null) {
+                continue;
+            }
+            var response = new SuggestionResponse();
+            response.setUserId(user.getId());
+            response.setName(user.getName());
+            response.setMutualCount(suggestion.getMutualCount());
+            content.add(response);
+        }
+        return Response.ok(new GenericEntity<List<SuggestionResponse>>(content) {
+        }).build();
+    }
+}
@@ -0,0 +1,59 @@
+package io.github.wellpereiradevs.quarkussocial.rest;
+
+import io.github.wellpereiradevs.quarkussocial.domain.trends.TrendingHashtags;
+import io.github.wellpereiradevs.quarkussocial.rest.cbor.CborMessageBodyWriter;
+import io.github.wellpereiradevs.quarkussocial.rest.dto.TrendResponse;
+
+import javax.inject.Inject;
+import javax.ws.rs.*;
+import javax.ws.rs.core.GenericEntity;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import java.time.Duration;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+@Path("/trends")
+@Produces(MediaType.APPLICATION_JSON)
+public class TrendResource {
+
+    private static final Pattern WINDOW = Pattern.compile("(\\d{1,4})([mh])");
+    private static final String DEFAULT_LIMIT = "10";
+    private static final int MAX_LIMIT = 100;
+
+    private TrendingHashtags trendingHashtags;
+
+    @Inject
+    public TrendResource(TrendingHashtags trendingHashtags) {
+        this.trendingHashtags = trendingHashtags;
+    }
+
+    @GET
+    @Produces({MediaType.APPLICATION_JSON, CborMessageBodyWriter.APPLICATION_CBOR_QS})
+    public Response trends(@QueryParam("window") @DefaultValue("1h") String window,
+                           @QueryParam("limit") @DefaultValue(DEFAULT_LIMIT) int limit) {
+        Matcher matcher = WINDOW.matcher(window);
+        if (!matcher.matches()) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("Invalid window, use minutes or hours like 15m or 1h")
+                    .type(MediaType.TEXT_PLAIN)
+                    .build();
+        }
+        long amount = Long.parseLong(matcher.group(1));
+        Duration duration = matcher.group(2).equals("m") ? Duration.ofMinutes(amount) : Duration.ofHours(amount);
+        if (duration.isZero() || duration.compareTo(TrendingHashtags.MAX_WINDOW) > 0) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("Window must be between 1m and 24h")
+                    .type(MediaType.TEXT_PLAIN)
+                    .build();
+        }
+
+        var trends = trendingHashtags.top(duration, Math.max(1, Math.min(limit, MAX_LIMIT))).stream()
+                .map(TrendResponse::fromTrend)
+                .collect(Collectors.toList());
+        return Response.ok(new GenericEntity<List<TrendResponse>>(trends) {
+        }).build();
+    }
+}
@@ -2,17 +2,31 @@ package io.github.wellpereiradevs.quarkussocial.rest;
 
 import io.github.wellpereiradevs.quarkussocial.domain.model.User;
 import io.github.wellpereiradevs.quarkussocial.domain.repository.UserRepository;
+import io.github.wellpereiradevs.quarkussocial.rest.cbor.CborGenerator;
+import io.github.wellpereiradevs.quarkussocial.rest.cbor.CborMessageBodyWriter;
 import io.github.wellpereiradevs.quarkussocial.rest.dto.CreateUserRequest;
+import io.github.wellpereiradevs.quarkussocial.rest.dto.PageCursor;
+import io.github.wellpereiradevs.quarkussocial.rest.dto.PageResponse;
 import io.github.wellpereiradevs.quarkussocial.rest.dto.ResponseError;
-import io.quarkus.hibernate.orm.panache.PanacheQuery;
 
 import javax.inject.Inject;
+import javax.json.Json;
+import javax.json.stream.JsonGenerator;
+import javax.json.stream.JsonGeneratorFactory;
 import javax.transaction.Transactional;
 import javax.validation.ConstraintViolation;
 import javax.validation.Validator;
 import javax.ws.rs.*;
+import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import javax.ws.rs.core.Variant;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
 import java.util.Set;
 
 
@@ -21,6 +35,13 @@ import java.util.Set;
 @Produces(MediaType.APPLICATION_JSON)
 public class UserResource {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final JsonGeneratorFactory JSON = Json.createGeneratorFactory(null);
+    private static final List<Variant> STREAM_VARIANTS = Variant
+            .mediaTypes(MediaType.APPLICATION_JSON_TYPE, CborMessageBodyWriter.APPLICATION_CBOR_TYPE)
+            .build();
+
     private UserRepository repository;
     private Validator validator;
 
@@ -54,9 +75,72 @@ public class UserResource {
     }
 
     @GET
-    public Response listAllUsers() {
-        PanacheQuery<User> query = repository.findAll();
-        return Response.ok(query.list()).build();
+    @Produces({MediaType.APPLICATION_JSON, CborMessageBodyWriter.APPLICATION_CBOR_QS})
+    public Response listAllUsers(@QueryParam("cursor") String cursor, @QueryParam("limit") Integer limit,
+                                 @Context Request request) {
+        if (cursor == null && limit == null) {
+            Variant variant = request.selectVariant(STREAM_VARIANTS);
+            if (variant != null && CborMessageBodyWriter.APPLICATION_CBOR_TYPE.equals(variant.getMediaType())) {
+                StreamingOutput body = this::writeAllUsersCbor;
+                return Response.ok(body, CborMessageBodyWriter.APPLICATION_CBOR_TYPE).build();
+            }
+            StreamingOutput body = this::writeAllUsers;
+            return Response.ok(body, MediaType.APPLICATION_JSON_TYPE).build();
+        }
+
+        Long afterId = null;
+        if (cursor != null) {
+            try {
+                afterId = PageCursor.decode(cursor).getId();
+            } catch (IllegalArgumentException e) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity("Invalid cursor")
+                        .type(MediaType.TEXT_PLAIN)
+                        .build();
+            }
+        }
+
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<User> users = repository.findPage(afterId, pageSize + 1);
+
+        String next = null;
+        if (users.size() > pageSize) {
+            users = users.subList(0, pageSize);
+            next = PageCursor.of(users.get(pageSize - 1).getId()).encode();
+        }
+        return Response.ok(PageResponse.of(users, next)).build();
+    }
+
+    private void writeAllUsers(OutputStream output) {
+        JsonGenerator generator = JSON.createGenerator(output);
+        generator.writeStartArray();
+        repository.forEachUser(user -> {
+            generator.writeStartObject();
+            if (user.getAge() != null) {
+                generator.write("age", user.getAge());
+            }
+            generator.write("id", user.getId());
+            if (user.getName() != null) {
+                generator.write("name", user.getName());
+            }
+            generator.writeEnd();
+        });
+        generator.writeEnd();
+        generator.flush();
+    }
+
+    private void writeAllUsersCbor(OutputStream output) throws IOException {
+        var generator = new CborGenerator(output);
+        generator.writeStartArray();
+        repository.forEachUser(user -> {
+            try {
+                CborMessageBodyWriter.writeUser(generator, user);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        generator.writeEnd();
+        generator.flush();
     }
 
     @DELETE
@@ -83,6 +167,7 @@ public class UserResource {
         if (user != null) {
             user.setName(userData.getName());
             user.setAge(userData.getAge());
+            repository.markChanged(user);
             return Response.noContent().build();
         }
         return Response.status(Response.Status.NOT_FOUND).build();
@@ -0,0 +1,210 @@
+package io.github.wellpereiradevs.quarkussocial.rest.cbor;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Minimal streaming CBOR (RFC 8949) encoder. Values go straight into a fixed buffer
+ * that is flushed to the underlying stream when full, so nothing is built in memory
+ * beyond the current buffer. Objects are written as indefinite-length maps so null
+ * fields can be skipped without counting them first, mirroring how JSON-B omits nulls.
+ */
+public class CborGenerator {
+
+    private static final int MAJOR_UNSIGNED = 0;
+    private static final int MAJOR_NEGATIVE = 1 << 5;
+    private static final int MAJOR_TEXT = 3 << 5;
+    private static final int MAJOR_ARRAY = 4 << 5;
+    private static final int MAJOR_MAP = 5 << 5;
+    private static final int INDEFINITE = 31;
+    private static final int FALSE = 0xf4;
+    private static final int TRUE = 0xf5;
+    private static final int NULL = 0xf6;
+    private static final int BREAK = 0xff;
+
+    private final OutputStream output;
+    private final byte[] buffer;
+    private int position;
+
+    public CborGenerator(OutputStream output) {
+        this(output, 8192);
+    }
+
+    CborGenerator(OutputStream output, int bufferSize) {
+        this.output = output;
+        this.buffer = new byte[bufferSize];
+    }
+
+    public CborGenerator writeStartArray(int size) throws IOException {
+        writeHead(MAJOR_ARRAY, size);
+        return this;
+    }
+
+    public CborGenerator writeStartArray() throws IOException {
+        writeByte(MAJOR_ARRAY | INDEFINITE);
+        return this;
+    }
+
+    public CborGenerator writeStartMap() throws IOException {
+        writeByte(MAJOR_MAP | INDEFINITE);
+        return this;
+    }
+
+    /**
+     * Closes the innermost indefinite-length array or map.
+     */
+    public CborGenerator writeEnd() throws IOException {
+        writeByte(BREAK);
+        return this;
+    }
+
+    public CborGenerator write(long value) throws IOException {
+        if (value >= 0) {
+            writeHead(MAJOR_UNSIGNED, value);
+        } else {
+            writeHead(MAJOR_NEGATIVE, -1 - value);
+        }
+        return this;
+    }
+
+    public CborGenerator write(boolean value) throws IOException {
+        writeByte(value ? TRUE : FALSE);
+        return this;
+    }
+
+    public CborGenerator writeNull() throws IOException {
+        writeByte(NULL);
+        return this;
+    }
+
+    public CborGenerator write(String value) throws IOException {
+        if (value == null) {
+            return writeNull();
+        }
+        int length = value.length();
+        if (isAscii(value, length)) {
+            writeHead(MAJOR_TEXT, length);
+            for (int i = 0; i < length; i++) {
+                writeByte(value.charAt(i));
+            }
+        } else {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeHead(MAJOR_TEXT, bytes.length);
+            writeBytes(bytes);
+        }
+        return this;
+    }
+
+    /**
+     * Timestamps go on the wire as epoch milliseconds. Posts stamp their local date-time
+     * with {@code LocalDateTime.now()}, so it is read in the JVM's default zone.
+     */
+    public CborGenerator write(LocalDateTime value) throws IOException {
+        if (value == null) {
+            return writeNull();
+        }
+        return write(value.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+
+    public CborGenerator write(String name, String value) throws IOException {
+        if (value != null) {
+            write(name).write(value);
+        }
+        return this;
+    }
+
+    public CborGenerator write(String name, Long value) throws IOException {
+        if (value != null) {
+            write(name).write(value.longValue());
+        }
+        return this;
+    }
+
+    public CborGenerator write(String name, Integer value) throws IOException {
+        if (value != null) {
+            write(name).write(value.longValue());
+        }
+        return this;
+    }
+
+    public CborGenerator write(String name, LocalDateTime value) throws IOException {
+        if (value != null) {
+            write(name).write(value);
+        }
+        return this;
+    }
+
+    public void flush() throws IOException {
+        if (position > 0) {
+            output.write(buffer, 0, position);
+            position = 0;
+        }
+        output.flush();
+    }
+
+    private void writeHead(int major, long argument) throws IOException {
+        if (argument < 24) {
+            writeByte(major | (int) argument);
+        } else if (argument < 1L << 8) {
+            ensure(2);
+            buffer[position++] = (byte) (major | 24);
+            buffer[position++] = (byte) argument;
+        } else if (argument < 1L << 16) {
+            ensure(3);
+            buffer[position++] = (byte) (major | 25);
+            buffer[position++] = (byte) (argument >>> 8);
+            buffer[position++] = (byte) argument;
+        } else if (argument < 1L << 32) {
+            ensure(5);
+            buffer[position++] = (byte) (major | 26);
+            for (int shift = 24; shift >= 0; shift -= 8) {
+                buffer[position++] = (byte) (argument >>> shift);
+            }
+        } else {
+            ensure(9);
+            buffer[position++] = (byte) (major | 27);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[position++] = (byte) (argument >>> shift);
+            }
+        }
+    }
+
+    private void writeByte(int value) throws IOException {
+        ensure(1);
+        buffer[position++] = (byte) value;
+    }
+
+    private void writeBytes(byte[] bytes) throws IOException {
+        if (bytes.length > buffer.length) {
+            flushBuffer();
+            output.write(bytes);
+            return;
+        }
+        ensure(bytes.length);
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (position + bytes > buffer.length) {
+            flushBuffer();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        output.write(buffer, 0, position);
+        position = 0;
+    }
+
+    private static boolean isAscii(String value, int length) {
+        for (int i = 0; i < length; i++) {
+            if (value.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
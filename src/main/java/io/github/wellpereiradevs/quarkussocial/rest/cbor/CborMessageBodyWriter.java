@@ -0,0 +1,154 @@
+package io.github.wellpereiradevs.quarkussocial.rest.cbor;
+
+import io.github.wellpereiradevs.quarkussocial.domain.model.User;
+import io.github.wellpereiradevs.quarkussocial.rest.dto.FollowerResponse;
+import io.github.wellpereiradevs.quarkussocial.rest.dto.FollowersPerUseResponse;
+import io.github.wellpereiradevs.quarkussocial.rest.dto.MutualsResponse;
+import io.github.wellpereiradevs.quarkussocial.rest.dto.PageResponse;
+import io.github.wellpereiradevs.quarkussocial.rest.dto.PostItemResponse;
+import io.github.wellpereiradevs.quarkussocial.rest.dto.PostResponse;
+import io.github.wellpereiradevs.quarkussocial.rest.dto.SuggestionResponse;
+import io.github.wellpereiradevs.quarkussocial.rest.dto.TrendResponse;
+
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.Provider;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Writes the list responses as CBOR. Each DTO has a hand-written encoder with the same
+ * property names and order JSON-B uses, except that date-times become epoch milliseconds.
+ * List endpoints offer this type with a lower {@code qs} than JSON, so it is only picked
+ * when a client asks for it explicitly. Bare collections are only taken when their declared
+ * element type has an encoder, so nothing can fail halfway through a response.
+ */
+@Provider
+@Produces(CborMessageBodyWriter.APPLICATION_CBOR)
+public class CborMessageBodyWriter implements MessageBodyWriter<Object> {
+
+    public static final String APPLICATION_CBOR = "application/cbor";
+    public static final MediaType APPLICATION_CBOR_TYPE = MediaType.valueOf(APPLICATION_CBOR);
+    public static final String APPLICATION_CBOR_QS = APPLICATION_CBOR + ";qs=0.9";
+
+    private static final Set<Class<?>> TYPES = Set.of(PageResponse.class, FollowersPerUseResponse.class,
+            MutualsResponse.class, PostResponse.class, PostItemResponse.class, FollowerResponse.class,
+            SuggestionResponse.class, TrendResponse.class, User.class);
+    private static final Set<Class<?>> ELEMENT_TYPES = Set.of(PostResponse.class, PostItemResponse.class,
+            FollowerResponse.class, SuggestionResponse.class, TrendResponse.class, User.class,
+            Long.class, Integer.class, String.class);
+
+    @Override
+    public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        if (Collection.class.isAssignableFrom(type)) {
+            return genericType instanceof ParameterizedType
+                    && ELEMENT_TYPES.contains(((ParameterizedType) genericType).getActualTypeArguments()[0]);
+        }
+        return TYPES.contains(type);
+    }
+
+    @Override
+    public void writeTo(Object entity, Class<?> type, Type genericType, Annotation[] annotations,
+                        MediaType mediaType, MultivaluedMap<String, Object> httpHeaders,
+                        OutputStream entityStream) throws IOException {
+        var generator = new CborGenerator(entityStream);
+        writeValue(generator, entity);
+        generator.flush();
+    }
+
+    public static void writeValue(CborGenerator generator, Object value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else if (value instanceof Collection) {
+            var values = (Collection<?>) value;
+            generator.writeStartArray(values.size());
+            for (Object item : values) {
+                writeValue(generator, item);
+            }
+        } else if (value instanceof PostResponse) {
+            var post = (PostResponse) value;
+            generator.writeStartMap()
+                    .write("dateTime", post.getDateTime())
+                    .write("text", post.getText())
+                    .writeEnd();
+        } else if (value instanceof PostItemResponse) {
+            var post = (PostItemResponse) value;
+            generator.writeStartMap()
+                    .write("dateTime", post.getDateTime())
+                    .write("id", post.getId())
+                    .write("text", post.getText())
+                    .write("userId", post.getUserId())
+                    .writeEnd();
+        } else if (value instanceof FollowerResponse) {
+            var follower = (FollowerResponse) value;
+            generator.writeStartMap()
+                    .write("id", follower.getId())
+                    .write("name", follower.getName())
+                    .writeEnd();
+        } else if (value instanceof User) {
+            writeUser(generator, (User) value);
+        } else if (value instanceof SuggestionResponse) {
+            var suggestion = (SuggestionResponse) value;
+            generator.writeStartMap()
+                    .write("mutualCount", suggestion.getMutualCount())
+                    .write("name", suggestion.getName())
+                    .write("userId", suggestion.getUserId())
+                    .writeEnd();
+        } else if (value instanceof TrendResponse) {
+            var trend = (TrendResponse) value;
+            generator.writeStartMap()
+                    .write("count", trend.getCount())
+                    .write("hashtag", trend.getHashtag())
+                    .writeEnd();
+        } else if (value instanceof PageResponse) {
+            var page = (PageResponse<?>) value;
+            generator.writeStartMap();
+            if (page.getContent() != null) {
+                generator.write("content");
+                writeValue(generator, page.getContent());
+            }
+            generator.write("next", page.getNext())
+                    .writeEnd();
+        } else if (value instanceof FollowersPerUseResponse) {
+            var followers = (FollowersPerUseResponse) value;
+            generator.writeStartMap();
+            if (followers.getContent() != null) {
+                generator.write("content");
+                writeValue(generator, followers.getContent());
+            }
+            generator.write("followersCount", followers.getFollowersCount())
+                    .write("next", followers.getNext())
+                    .writeEnd();
+        } else if (value instanceof MutualsResponse) {
+            var mutuals = (MutualsResponse) value;
+            generator.writeStartMap()
+                    .write("count", mutuals.getCount());
+            if (mutuals.getUserIds() != null) {
+                generator.write("userIds");
+                writeValue(generator, mutuals.getUserIds());
+            }
+            generator.writeEnd();
+        } else if (value instanceof Number) {
+            generator.write(((Number) value).longValue());
+        } else if (value instanceof String) {
+            generator.write((String) value);
+        } else {
+            throw new IllegalArgumentException("No CBOR encoding for " + value.getClass().getName());
+        }
+    }
+
+    public static void writeUser(CborGenerator generator, User user) throws IOException {
+        generator.writeStartMap()
+                .write("age", user.getAge())
+                .write("id", user.getId())
+                .write("name", user.getName())
+                .writeEnd();
+    }
+}
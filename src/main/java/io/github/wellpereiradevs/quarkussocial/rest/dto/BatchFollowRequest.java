@@ -0,0 +1,12 @@
+package io.github.wellpereiradevs.quarkussocial.rest.dto;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@RegisterForReflection
+public class BatchFollowRequest {
+    private List<FollowOperation> operations;
+}
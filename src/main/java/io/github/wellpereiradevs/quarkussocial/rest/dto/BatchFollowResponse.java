@@ -0,0 +1,17 @@
+package io.github.wellpereiradevs.quarkussocial.rest.dto;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@RegisterForReflection
+public class BatchFollowResponse {
+
+    private Integer followed;
+    private Integer unfollowed;
+    private Integer unchanged;
+
+    private List<FieldError> failures;
+}
@@ -0,0 +1,16 @@
+package io.github.wellpereiradevs.quarkussocial.rest.dto;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import lombok.Data;
+
+@Data
+@RegisterForReflection
+public class CacheRegionResponse {
+
+    private String region;
+    private Long hitCount;
+    private Long missCount;
+    private Long putCount;
+    private Long elementCount;
+    private Double hitRatio;
+}
@@ -1,8 +1,16 @@
 package io.github.wellpereiradevs.quarkussocial.rest.dto;
 
+import io.github.wellpereiradevs.quarkussocial.ratelimit.RateLimitKey;
+import io.quarkus.runtime.annotations.RegisterForReflection;
 import lombok.Data;
 
 @Data
-public class CreateFollowerRequest {
+@RegisterForReflection
+public class CreateFollowerRequest implements RateLimitKey.Keyed {
     private Long followerId;
+
+    @Override
+    public Long rateLimitKey() {
+        return followerId;
+    }
 }
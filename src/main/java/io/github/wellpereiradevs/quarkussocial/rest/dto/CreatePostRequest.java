@@ -1,8 +1,10 @@
 package io.github.wellpereiradevs.quarkussocial.rest.dto;
 
+import io.quarkus.runtime.annotations.RegisterForReflection;
 import lombok.Data;
 
 @Data
+@RegisterForReflection
 public class CreatePostRequest {
     private String text;
 }
@@ -1,11 +1,13 @@
 package io.github.wellpereiradevs.quarkussocial.rest.dto;
 
+import io.quarkus.runtime.annotations.RegisterForReflection;
 import lombok.Data;
 
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
 @Data
+@RegisterForReflection
 public class CreateUserRequest {
 
     @NotBlank(message = "Name is Required")
@@ -1,5 +1,8 @@
 package io.github.wellpereiradevs.quarkussocial.rest.dto;
 
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+@RegisterForReflection
 public class FieldError {
     private String field;
     private String message;
@@ -0,0 +1,9 @@
+package io.github.wellpereiradevs.quarkussocial.rest.dto;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+@RegisterForReflection
+public enum FollowAction {
+    FOLLOW,
+    UNFOLLOW
+}
@@ -0,0 +1,12 @@
+package io.github.wellpereiradevs.quarkussocial.rest.dto;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import lombok.Data;
+
+@Data
+@RegisterForReflection
+public class FollowOperation {
+    private Long userId;
+    private Long followerId;
+    private FollowAction action;
+}
@@ -1,9 +1,11 @@
 package io.github.wellpereiradevs.quarkussocial.rest.dto;
 
 import io.github.wellpereiradevs.quarkussocial.domain.model.Follower;
+import io.quarkus.runtime.annotations.RegisterForReflection;
 import lombok.Data;
 
 @Data
+@RegisterForReflection
 public class FollowerResponse {
 
     private Long id;
@@ -1,13 +1,17 @@
 package io.github.wellpereiradevs.quarkussocial.rest.dto;
 
+import io.quarkus.runtime.annotations.RegisterForReflection;
 import lombok.Data;
 
 import java.util.List;
 
 @Data
+@RegisterForReflection
 public class FollowersPerUseResponse {
 
     private Integer followersCount;
 
     private List<FollowerResponse> content;
+
+    private String next;
 }
@@ -0,0 +1,14 @@
+package io.github.wellpereiradevs.quarkussocial.rest.dto;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@RegisterForReflection
+public class IngestPostRequest {
+    private Long userId;
+    private String text;
+    private LocalDateTime dateTime;
+}
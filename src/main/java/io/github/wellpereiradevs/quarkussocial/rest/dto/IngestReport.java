@@ -0,0 +1,54 @@
+package io.github.wellpereiradevs.quarkussocial.rest.dto;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.json.bind.annotation.JsonbTransient;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+@Data
+@RegisterForReflection
+public class IngestReport {
+
+    public static final int MAX_REPORTED_FAILURES = 1000;
+
+    private Long accepted = 0L;
+    private Long rejected = 0L;
+    private List<FieldError> failures = new ArrayList<>();
+
+    /**
+     * Lines can be rejected out of order: parse errors right away, unknown authors only once
+     * their chunk is stored. Rejections are kept by line, lowest first, until {@link #finish()}.
+     */
+    @JsonbTransient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private NavigableMap<Long, String> rejectedLines = new TreeMap<>();
+
+    public void accept(long count) {
+        accepted += count;
+    }
+
+    public void reject(long line, String message) {
+        rejected++;
+        rejectedLines.put(line, message);
+        if (rejectedLines.size() > MAX_REPORTED_FAILURES) {
+            rejectedLines.pollLastEntry();
+        }
+    }
+
+    /**
+     * Lists the reported failures in line order, once the whole stream has been read.
+     */
+    public IngestReport finish() {
+        failures = new ArrayList<>(rejectedLines.size());
+        rejectedLines.forEach((line, message) -> failures.add(new FieldError("line " + line, message)));
+        return this;
+    }
+}
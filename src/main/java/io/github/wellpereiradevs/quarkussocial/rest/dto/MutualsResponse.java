@@ -0,0 +1,14 @@
+package io.github.wellpereiradevs.quarkussocial.rest.dto;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@RegisterForReflection
+public class MutualsResponse {
+
+    private Integer count;
+    private List<Long> userIds;
+}
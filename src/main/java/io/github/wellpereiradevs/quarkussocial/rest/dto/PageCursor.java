@@ -0,0 +1,63 @@
+package io.github.wellpereiradevs.quarkussocial.rest.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position handed to clients as the {@code next} value of a page.
+ * It carries the sort key of the last element already returned, so the following
+ * page can be read with an index seek instead of an {@code OFFSET}.
+ */
+public class PageCursor {
+
+    private static final char SEPARATOR = '|';
+
+    private final LocalDateTime dateTime;
+    private final Long id;
+
+    private PageCursor(LocalDateTime dateTime, Long id) {
+        this.dateTime = dateTime;
+        this.id = id;
+    }
+
+    public static PageCursor of(LocalDateTime dateTime, Long id) {
+        return new PageCursor(dateTime, id);
+    }
+
+    public static PageCursor of(Long id) {
+        return new PageCursor(null, id);
+    }
+
+    public LocalDateTime getDateTime() {
+        return dateTime;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String encode() {
+        String raw = (dateTime == null ? "" : dateTime.toString()) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException when the value was not produced by {@link #encode()}
+     */
+    public static PageCursor decode(String value) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            String dateTime = raw.substring(0, separator);
+            Long id = Long.valueOf(raw.substring(separator + 1));
+            return new PageCursor(dateTime.isEmpty() ? null : LocalDateTime.parse(dateTime), id);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
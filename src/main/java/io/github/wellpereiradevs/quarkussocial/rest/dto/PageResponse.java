@@ -0,0 +1,21 @@
+package io.github.wellpereiradevs.quarkussocial.rest.dto;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@RegisterForReflection
+public class PageResponse<T> {
+
+    private List<T> content;
+    private String next;
+
+    public static <T> PageResponse<T> of(List<T> content, String next) {
+        var response = new PageResponse<T>();
+        response.setContent(content);
+        response.setNext(next);
+        return response;
+    }
+}
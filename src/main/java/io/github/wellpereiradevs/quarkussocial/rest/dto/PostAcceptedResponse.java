@@ -0,0 +1,17 @@
+package io.github.wellpereiradevs.quarkussocial.rest.dto;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import lombok.Data;
+
+@Data
+@RegisterForReflection
+public class PostAcceptedResponse {
+
+    private Long id;
+
+    public static PostAcceptedResponse of(Long id) {
+        var response = new PostAcceptedResponse();
+        response.setId(id);
+        return response;
+    }
+}
@@ -0,0 +1,36 @@
+package io.github.wellpereiradevs.quarkussocial.rest.dto;
+
+import io.github.wellpereiradevs.quarkussocial.domain.model.Post;
+import io.github.wellpereiradevs.quarkussocial.domain.model.TimelineEntry;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@RegisterForReflection
+public class PostItemResponse {
+
+    private Long id;
+    private Long userId;
+    private String text;
+    private LocalDateTime dateTime;
+
+    public static PostItemResponse fromEntry(TimelineEntry entry) {
+        var response = new PostItemResponse();
+        response.setId(entry.getPostId());
+        response.setUserId(entry.getUserId());
+        response.setText(entry.getText());
+        response.setDateTime(entry.getDateTime());
+        return response;
+    }
+
+    public static PostItemResponse fromEntity(Post post) {
+        var response = new PostItemResponse();
+        response.setId(post.getId());
+        response.setUserId(post.getUser().getId());
+        response.setText(post.getText());
+        response.setDateTime(post.getDateTime());
+        return response;
+    }
+}
@@ -1,11 +1,13 @@
 package io.github.wellpereiradevs.quarkussocial.rest.dto;
 
 import io.github.wellpereiradevs.quarkussocial.domain.model.Post;
+import io.quarkus.runtime.annotations.RegisterForReflection;
 import lombok.Data;
 
 import java.time.LocalDateTime;
 
 @Data
+@RegisterForReflection
 public class PostResponse {
 
     private String text;
@@ -1,5 +1,6 @@
 package io.github.wellpereiradevs.quarkussocial.rest.dto;
 
+import io.quarkus.runtime.annotations.RegisterForReflection;
 import lombok.Data;
 
 import javax.validation.ConstraintViolation;
@@ -10,6 +11,7 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 @Data
+@RegisterForReflection
 public class ResponseError {
 
     public static final int UNPROCESSABLE_ENTITY_STATUS = 422;
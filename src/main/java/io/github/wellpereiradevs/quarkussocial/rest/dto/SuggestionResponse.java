@@ -0,0 +1,13 @@
+package io.github.wellpereiradevs.quarkussocial.rest.dto;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import lombok.Data;
+
+@Data
+@RegisterForReflection
+public class SuggestionResponse {
+
+    private Long userId;
+    private String name;
+    private Integer mutualCount;
+}
@@ -0,0 +1,20 @@
+package io.github.wellpereiradevs.quarkussocial.rest.dto;
+
+import io.github.wellpereiradevs.quarkussocial.domain.trends.TrendingHashtags;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import lombok.Data;
+
+@Data
+@RegisterForReflection
+public class TrendResponse {
+
+    private String hashtag;
+    private Long count;
+
+    public static TrendResponse fromTrend(TrendingHashtags.Trend trend) {
+        var response = new TrendResponse();
+        response.setHashtag(trend.getHashtag());
+        response.setCount(trend.getCount());
+        return response;
+    }
+}
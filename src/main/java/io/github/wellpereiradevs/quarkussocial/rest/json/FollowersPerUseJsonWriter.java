@@ -0,0 +1,59 @@
+package io.github.wellpereiradevs.quarkussocial.rest.json;
+
+import io.github.wellpereiradevs.quarkussocial.rest.dto.FollowerResponse;
+import io.github.wellpereiradevs.quarkussocial.rest.dto.FollowersPerUseResponse;
+
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.ext.Provider;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+@Provider
+public class FollowersPerUseJsonWriter extends SpecializedJsonWriter<FollowersPerUseResponse> {
+
+    private static final byte[] CONTENT = JsonOutput.name("content");
+    private static final byte[] FOLLOWERS_COUNT = JsonOutput.name("followersCount");
+    private static final byte[] NEXT = JsonOutput.name("next");
+    private static final byte[] ID = JsonOutput.name("id");
+    private static final byte[] NAME = JsonOutput.name("name");
+
+    @Override
+    public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return type == FollowersPerUseResponse.class;
+    }
+
+    @Override
+    protected void write(JsonOutput output, FollowersPerUseResponse response) throws IOException {
+        output.writeStartObject();
+        if (response.getContent() != null) {
+            output.writeName(CONTENT).writeStartArray();
+            for (FollowerResponse follower : response.getContent()) {
+                writeFollower(output, follower);
+            }
+            output.writeEndArray();
+        }
+        if (response.getFollowersCount() != null) {
+            output.writeName(FOLLOWERS_COUNT).write(response.getFollowersCount());
+        }
+        if (response.getNext() != null) {
+            output.writeName(NEXT).write(response.getNext());
+        }
+        output.writeEndObject();
+    }
+
+    static void writeFollower(JsonOutput output, FollowerResponse follower) throws IOException {
+        if (follower == null) {
+            output.writeNull();
+            return;
+        }
+        output.writeStartObject();
+        if (follower.getId() != null) {
+            output.writeName(ID).write(follower.getId());
+        }
+        if (follower.getName() != null) {
+            output.writeName(NAME).write(follower.getName());
+        }
+        output.writeEndObject();
+    }
+}
@@ -0,0 +1,296 @@
+package io.github.wellpereiradevs.quarkussocial.rest.json;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * UTF-8 JSON output into a reusable byte buffer. It produces the same bytes JSON-B
+ * (Yasson over the JSON-P reference generator) does for the values used by the DTOs:
+ * the same string escaping, plain decimal integers and {@link DateTimeFormatter#ISO_LOCAL_DATE_TIME}
+ * date-times. The date part of the last date-time written is kept, since a page of posts
+ * is usually spread over a few days at most.
+ *
+ * <p>Separators are tracked with a single flag: it is set after every value, including a
+ * closed object or array, and cleared when a container opens or a name is written.
+ */
+public class JsonOutput {
+
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TRUE = "true".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] FALSE = "false".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.US_ASCII);
+
+    private final byte[] buffer;
+    private int position;
+    private OutputStream output;
+    private boolean comma;
+
+    private long cachedEpochDay = Long.MIN_VALUE;
+    private final byte[] cachedDate = new byte[10];
+
+    public JsonOutput() {
+        this(8192);
+    }
+
+    JsonOutput(int bufferSize) {
+        this.buffer = new byte[Math.max(bufferSize, 32)];
+    }
+
+    /**
+     * Points this output at a new stream, dropping anything not yet flushed.
+     */
+    public JsonOutput reset(OutputStream output) {
+        this.output = output;
+        this.position = 0;
+        this.comma = false;
+        return this;
+    }
+
+    /**
+     * Encodes a field name with its quotes and colon once, for {@link #writeName(byte[])}.
+     */
+    public static byte[] name(String name) {
+        return ('"' + name + "\":").getBytes(StandardCharsets.UTF_8);
+    }
+
+    public JsonOutput writeStartObject() throws IOException {
+        separate();
+        writeByte('{');
+        comma = false;
+        return this;
+    }
+
+    public JsonOutput writeEndObject() throws IOException {
+        writeByte('}');
+        comma = true;
+        return this;
+    }
+
+    public JsonOutput writeStartArray() throws IOException {
+        separate();
+        writeByte('[');
+        comma = false;
+        return this;
+    }
+
+    public JsonOutput writeEndArray() throws IOException {
+        writeByte(']');
+        comma = true;
+        return this;
+    }
+
+    public JsonOutput writeName(byte[] name) throws IOException {
+        separate();
+        writeRaw(name);
+        comma = false;
+        return this;
+    }
+
+    private void separate() throws IOException {
+        if (comma) {
+            writeByte(',');
+        }
+    }
+
+    private void writeByte(char value) throws IOException {
+        ensure(1);
+        buffer[position++] = (byte) value;
+    }
+
+    private void writeRaw(byte[] bytes) throws IOException {
+        if (bytes.length > buffer.length) {
+            flushBuffer();
+            output.write(bytes);
+            return;
+        }
+        ensure(bytes.length);
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    public JsonOutput writeNull() throws IOException {
+        separate();
+        writeRaw(NULL);
+        comma = true;
+        return this;
+    }
+
+    public JsonOutput write(boolean value) throws IOException {
+        separate();
+        writeRaw(value ? TRUE : FALSE);
+        comma = true;
+        return this;
+    }
+
+    public JsonOutput write(long value) throws IOException {
+        separate();
+        comma = true;
+        ensure(20);
+        if (value == Long.MIN_VALUE) {
+            for (char c : "-9223372036854775808".toCharArray()) {
+                buffer[position++] = (byte) c;
+            }
+            return this;
+        }
+        if (value < 0) {
+            buffer[position++] = '-';
+            value = -value;
+        }
+        int digits = 1;
+        for (long bound = 10; digits < 19 && value >= bound; bound *= 10) {
+            digits++;
+        }
+        int end = position + digits;
+        for (int i = end - 1; i >= position; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        position = end;
+        return this;
+    }
+
+    public JsonOutput write(String value) throws IOException {
+        separate();
+        comma = true;
+        ensure(1);
+        buffer[position++] = '"';
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                if (c >= 0x20 && c != '"' && c != '\\') {
+                    ensure(1);
+                    buffer[position++] = (byte) c;
+                } else {
+                    writeEscaped(c);
+                }
+            } else if (c < 0x800) {
+                ensure(2);
+                buffer[position++] = (byte) (0xc0 | (c >> 6));
+                buffer[position++] = (byte) (0x80 | (c & 0x3f));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                ensure(4);
+                buffer[position++] = (byte) (0xf0 | (codePoint >> 18));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3f));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3f));
+                buffer[position++] = (byte) (0x80 | (codePoint & 0x3f));
+            } else if (Character.isSurrogate(c)) {
+                // unpaired surrogates are replaced the same way the UTF-8 stream writer does
+                ensure(1);
+                buffer[position++] = '?';
+            } else {
+                ensure(3);
+                buffer[position++] = (byte) (0xe0 | (c >> 12));
+                buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+                buffer[position++] = (byte) (0x80 | (c & 0x3f));
+            }
+        }
+        ensure(1);
+        buffer[position++] = '"';
+        return this;
+    }
+
+    public JsonOutput write(LocalDateTime value) throws IOException {
+        int year = value.getYear();
+        if (year < 0 || year > 9999) {
+            return write(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value));
+        }
+        separate();
+        comma = true;
+        long epochDay = value.toLocalDate().toEpochDay();
+        if (epochDay != cachedEpochDay) {
+            writeDigits(cachedDate, 0, year, 4);
+            cachedDate[4] = '-';
+            writeDigits(cachedDate, 5, value.getMonthValue(), 2);
+            cachedDate[7] = '-';
+            writeDigits(cachedDate, 8, value.getDayOfMonth(), 2);
+            cachedEpochDay = epochDay;
+        }
+        ensure(32);
+        buffer[position++] = '"';
+        System.arraycopy(cachedDate, 0, buffer, position, cachedDate.length);
+        position += cachedDate.length;
+        buffer[position++] = 'T';
+        writeDigits(buffer, position, value.getHour(), 2);
+        buffer[position + 2] = ':';
+        writeDigits(buffer, position + 3, value.getMinute(), 2);
+        buffer[position + 5] = ':';
+        writeDigits(buffer, position + 6, value.getSecond(), 2);
+        position += 8;
+        int nano = value.getNano();
+        if (nano > 0) {
+            // ISO_LOCAL_DATE_TIME prints only the significant fraction digits
+            int digits = 9;
+            while (nano % 10 == 0) {
+                nano /= 10;
+                digits--;
+            }
+            buffer[position++] = '.';
+            writeDigits(buffer, position, nano, digits);
+            position += digits;
+        }
+        buffer[position++] = '"';
+        return this;
+    }
+
+    public void flush() throws IOException {
+        flushBuffer();
+        output.flush();
+    }
+
+    private void writeEscaped(char c) throws IOException {
+        ensure(6);
+        buffer[position++] = '\\';
+        switch (c) {
+            case '"':
+            case '\\':
+                buffer[position++] = (byte) c;
+                break;
+            case '\b':
+                buffer[position++] = 'b';
+                break;
+            case '\f':
+                buffer[position++] = 'f';
+                break;
+            case '\n':
+                buffer[position++] = 'n';
+                break;
+            case '\r':
+                buffer[position++] = 'r';
+                break;
+            case '\t':
+                buffer[position++] = 't';
+                break;
+            default:
+                buffer[position++] = 'u';
+                buffer[position++] = '0';
+                buffer[position++] = '0';
+                buffer[position++] = HEX[c >> 4];
+                buffer[position++] = HEX[c & 0xf];
+        }
+    }
+
+    private static void writeDigits(byte[] target, int offset, int value, int digits) {
+        for (int i = offset + digits - 1; i >= offset; i--) {
+            target[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (position + bytes > buffer.length) {
+            flushBuffer();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (position > 0) {
+            output.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+}
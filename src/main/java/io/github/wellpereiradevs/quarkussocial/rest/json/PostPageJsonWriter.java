@@ -0,0 +1,63 @@
+package io.github.wellpereiradevs.quarkussocial.rest.json;
+
+import io.github.wellpereiradevs.quarkussocial.rest.dto.PageResponse;
+import io.github.wellpereiradevs.quarkussocial.rest.dto.PostResponse;
+
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.ext.Provider;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+
+/**
+ * Writes {@code PageResponse<PostResponse>}. The element type is only known when the
+ * resource passes the page as a {@link javax.ws.rs.core.GenericEntity}; other pages keep
+ * going through JSON-B.
+ */
+@Provider
+public class PostPageJsonWriter extends SpecializedJsonWriter<PageResponse<PostResponse>> {
+
+    private static final byte[] CONTENT = JsonOutput.name("content");
+    private static final byte[] NEXT = JsonOutput.name("next");
+    private static final byte[] DATE_TIME = JsonOutput.name("dateTime");
+    private static final byte[] TEXT = JsonOutput.name("text");
+
+    @Override
+    public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return type == PageResponse.class
+                && genericType instanceof ParameterizedType
+                && ((ParameterizedType) genericType).getActualTypeArguments()[0] == PostResponse.class;
+    }
+
+    @Override
+    protected void write(JsonOutput output, PageResponse<PostResponse> page) throws IOException {
+        output.writeStartObject();
+        if (page.getContent() != null) {
+            output.writeName(CONTENT).writeStartArray();
+            for (PostResponse post : page.getContent()) {
+                writePost(output, post);
+            }
+            output.writeEndArray();
+        }
+        if (page.getNext() != null) {
+            output.writeName(NEXT).write(page.getNext());
+        }
+        output.writeEndObject();
+    }
+
+    static void writePost(JsonOutput output, PostResponse post) throws IOException {
+        if (post == null) {
+            output.writeNull();
+            return;
+        }
+        output.writeStartObject();
+        if (post.getDateTime() != null) {
+            output.writeName(DATE_TIME).write(post.getDateTime());
+        }
+        if (post.getText() != null) {
+            output.writeName(TEXT).write(post.getText());
+        }
+        output.writeEndObject();
+    }
+}
@@ -0,0 +1,50 @@
+package io.github.wellpereiradevs.quarkussocial.rest.json;
+
+import io.github.wellpereiradevs.quarkussocial.rest.dto.FieldError;
+import io.github.wellpereiradevs.quarkussocial.rest.dto.ResponseError;
+
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.ext.Provider;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+@Provider
+public class ResponseErrorJsonWriter extends SpecializedJsonWriter<ResponseError> {
+
+    private static final byte[] ERRORS = JsonOutput.name("errors");
+    private static final byte[] MESSAGE = JsonOutput.name("message");
+    private static final byte[] FIELD = JsonOutput.name("field");
+
+    @Override
+    public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return type == ResponseError.class;
+    }
+
+    @Override
+    protected void write(JsonOutput output, ResponseError error) throws IOException {
+        output.writeStartObject();
+        if (error.getErrors() != null) {
+            output.writeName(ERRORS).writeStartArray();
+            for (FieldError fieldError : error.getErrors()) {
+                if (fieldError == null) {
+                    output.writeNull();
+                    continue;
+                }
+                output.writeStartObject();
+                if (fieldError.getField() != null) {
+                    output.writeName(FIELD).write(fieldError.getField());
+                }
+                if (fieldError.getMessage() != null) {
+                    output.writeName(MESSAGE).write(fieldError.getMessage());
+                }
+                output.writeEndObject();
+            }
+            output.writeEndArray();
+        }
+        if (error.getMessage() != null) {
+            output.writeName(MESSAGE).write(error.getMessage());
+        }
+        output.writeEndObject();
+    }
+}
@@ -0,0 +1,39 @@
+package io.github.wellpereiradevs.quarkussocial.rest.json;
+
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.MessageBodyWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+/**
+ * Base for the hand-written JSON writers of the hottest response types. They take
+ * precedence over JSON-B for their exact entity type and reuse one {@link JsonOutput}
+ * per thread, so a response is encoded without reflection or per-call buffers.
+ */
+@Produces(MediaType.APPLICATION_JSON)
+public abstract class SpecializedJsonWriter<T> implements MessageBodyWriter<T> {
+
+    private static final ThreadLocal<JsonOutput> OUTPUT = ThreadLocal.withInitial(JsonOutput::new);
+
+    @Override
+    public void writeTo(T value, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+                        MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream) throws IOException {
+        write(value, entityStream);
+    }
+
+    public void write(T value, OutputStream stream) throws IOException {
+        JsonOutput output = OUTPUT.get().reset(stream);
+        try {
+            write(output, value);
+            output.flush();
+        } finally {
+            output.reset(null);
+        }
+    }
+
+    protected abstract void write(JsonOutput output, T value) throws IOException;
+}
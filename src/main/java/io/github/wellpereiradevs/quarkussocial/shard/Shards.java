@@ -0,0 +1,336 @@
+package io.github.wellpereiradevs.quarkussocial.shard;
+
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.agroal.DataSource;
+import io.quarkus.runtime.ShutdownEvent;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Event;
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.Any;
+import javax.enterprise.inject.Instance;
+import javax.inject.Inject;
+import javax.persistence.PersistenceException;
+import javax.transaction.InvalidTransactionException;
+import javax.transaction.SystemException;
+import javax.transaction.Transaction;
+import javax.transaction.TransactionManager;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Maps users to the {@code shard-0} .. {@code shard-N-1} datasources. Ids are handed out by
+ * each shard's own sequences, which start at the shard's {@code firstId} (N plus the shard
+ * index) and step by N, so the owning shard of any user, post or follow edge is {@code id mod N}.
+ * N is fixed once data exists: changing {@code social.shards.count} would send every existing
+ * id to another shard, and resharding is not supported. Sharding is off while the count is 0
+ * and the repositories keep using the main persistence unit.
+ *
+ * <p>Shard datasources are plain JDBC pools with JTA integration disabled: every statement
+ * commits on its own, so a write spanning two shards (a follow edge) is not atomic and is
+ * ordered so that the followed user's shard, which answers reads, is written first. For the
+ * same reason events of shard writes are fired through {@link #fireCommitted(Event, Object)}.
+ */
+@ApplicationScoped
+public class Shards {
+
+    private int count;
+    private List<AgroalDataSource> dataSources;
+    private ExecutorService scatterPool;
+    private TransactionManager transactionManager;
+    private final AtomicInteger nextPlacement = new AtomicInteger();
+
+    @Inject
+    public Shards(@Any Instance<AgroalDataSource> dataSources, TransactionManager transactionManager,
+                  @ConfigProperty(name = "social.shards.count", defaultValue = "0") int count,
+                  @ConfigProperty(name = "social.shards.scatter-threads", defaultValue = "8") int scatterThreads) {
+        this.count = count;
+        this.transactionManager = transactionManager;
+        this.dataSources = new ArrayList<>(count);
+        for (int shard = 0; shard < count; shard++) {
+            Instance<AgroalDataSource> dataSource = dataSources.select(new DataSource.DataSourceLiteral("shard-" + shard));
+            if (!dataSource.isResolvable()) {
+                throw new IllegalStateException("social.shards.count is " + count +
+                        " but the shard-" + shard + " datasource is not configured");
+            }
+            this.dataSources.add(dataSource.get());
+        }
+        if (count > 1) {
+            this.scatterPool = Executors.newFixedThreadPool(Math.min(count, scatterThreads), runnable -> {
+                Thread thread = new Thread(runnable, "shard-scatter");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        if (scatterPool != null) {
+            scatterPool.shutdown();
+        }
+    }
+
+    public boolean isEnabled() {
+        return count > 0;
+    }
+
+    public int count() {
+        return count;
+    }
+
+    public int shardOf(long id) {
+        return (int) Math.floorMod(id, (long) count);
+    }
+
+    /**
+     * Spreads new users over the shards in turn.
+     */
+    public int placeNewUser() {
+        return Math.floorMod(nextPlacement.getAndIncrement(), count);
+    }
+
+    public <K> Map<Integer, List<K>> groupByShard(Collection<K> keys, ShardKey<K> shardKey) {
+        Map<Integer, List<K>> groups = new HashMap<>();
+        for (K key : keys) {
+            groups.computeIfAbsent(shardOf(shardKey.idOf(key)), shard -> new ArrayList<>()).add(key);
+        }
+        return groups;
+    }
+
+    public <T> T onShard(int shard, SqlWork<T> work) {
+        try (Connection connection = dataSources.get(shard).getConnection()) {
+            return work.apply(connection);
+        } catch (SQLException e) {
+            throw new PersistenceException("Shard " + shard + " failed: " + e.getMessage(), e);
+        }
+    }
+
+    public <T> T onShardOf(long id, SqlWork<T> work) {
+        return onShard(shardOf(id), work);
+    }
+
+    /**
+     * Runs {@code work} on every listed shard in parallel and returns the results in shard order.
+     */
+    public <T> List<T> scatter(Collection<Integer> shards, ShardWork<T> work) {
+        List<CompletableFuture<T>> futures = new ArrayList<>(shards.size());
+        for (int shard : shards) {
+            if (scatterPool == null) {
+                futures.add(CompletableFuture.completedFuture(onShard(shard, connection -> work.apply(shard, connection))));
+            } else {
+                futures.add(CompletableFuture.supplyAsync(
+                        () -> onShard(shard, connection -> work.apply(shard, connection)), scatterPool));
+            }
+        }
+        List<T> results = new ArrayList<>(futures.size());
+        try {
+            for (CompletableFuture<T> future : futures) {
+                results.add(future.join());
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+        return results;
+    }
+
+    public <T> List<T> scatter(ShardWork<T> work) {
+        List<Integer> all = new ArrayList<>(count);
+        for (int shard = 0; shard < count; shard++) {
+            all.add(shard);
+        }
+        return scatter(all, work);
+    }
+
+    /**
+     * Fires an event for a write that a shard has already committed. Any JTA transaction of the
+     * caller is suspended meanwhile, so AFTER_SUCCESS observers run right away and the in-memory
+     * indexes follow the shards even if that transaction rolls back later.
+     */
+    public <T> void fireCommitted(Event<T> event, T payload) {
+        Transaction suspended;
+        try {
+            suspended = transactionManager.suspend();
+        } catch (SystemException e) {
+            throw new IllegalStateException("Could not suspend the transaction", e);
+        }
+        try {
+            event.fire(payload);
+        } finally {
+            if (suspended != null) {
+                try {
+                    transactionManager.resume(suspended);
+                } catch (InvalidTransactionException | SystemException e) {
+                    throw new IllegalStateException("Could not resume the transaction", e);
+                }
+            }
+        }
+    }
+
+    public static long nextId(Connection connection, String sequence) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("select nextval('" + sequence + "')");
+             ResultSet resultSet = statement.executeQuery()) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    /**
+     * @return {@code "?, ?, ..."} with {@code size} parameters, for an {@code in (...)} clause
+     */
+    public static String parameters(int size) {
+        StringBuilder builder = new StringBuilder(size * 3);
+        for (int i = 0; i < size; i++) {
+            builder.append(i == 0 ? "?" : ", ?");
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Merges per-shard lists that are each sorted by {@code order} and keeps the first {@code limit}.
+     */
+    public static <T> List<T> merge(List<List<T>> sorted, Comparator<? super T> order, int limit) {
+        PriorityQueue<Head<T>> heads = new PriorityQueue<>((left, right) -> order.compare(left.value, right.value));
+        for (List<T> list : sorted) {
+            if (!list.isEmpty()) {
+                heads.add(new Head<>(list, 0));
+            }
+        }
+        List<T> merged = new ArrayList<>();
+        while (!heads.isEmpty() && merged.size() < limit) {
+            Head<T> head = heads.poll();
+            merged.add(head.value);
+            if (head.index + 1 < head.list.size()) {
+                heads.add(new Head<>(head.list, head.index + 1));
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Streams the rows of {@code sql} from every shard in {@code order} without loading them:
+     * one cursor stays open per shard and the smallest head row is handed out each time.
+     *
+     * @param filter drops rows a shard holds only as a copy, such as the far side of a follow edge
+     */
+    public <T> void streamMerged(String sql, int fetchSize, RowMapper<T> mapper, ShardFilter<T> filter,
+                                 Comparator<? super T> order, Consumer<T> consumer) {
+        List<Connection> connections = new ArrayList<>(count);
+        try {
+            List<Cursor<T>> cursors = new ArrayList<>(count);
+            for (int shard = 0; shard < count; shard++) {
+                Connection connection = dataSources.get(shard).getConnection();
+                connections.add(connection);
+                connection.setAutoCommit(false);
+                PreparedStatement statement = connection.prepareStatement(sql);
+                statement.setFetchSize(fetchSize);
+                cursors.add(new Cursor<>(shard, statement.executeQuery(), mapper, filter));
+            }
+            PriorityQueue<Cursor<T>> heads = new PriorityQueue<>((left, right) -> order.compare(left.head, right.head));
+            for (Cursor<T> cursor : cursors) {
+                if (cursor.advance()) {
+                    heads.add(cursor);
+                }
+            }
+            while (!heads.isEmpty()) {
+                Cursor<T> cursor = heads.poll();
+                consumer.accept(cursor.head);
+                if (cursor.advance()) {
+                    heads.add(cursor);
+                }
+            }
+        } catch (SQLException e) {
+            throw new PersistenceException("Shard scan failed: " + e.getMessage(), e);
+        } finally {
+            for (Connection connection : connections) {
+                try {
+                    connection.rollback();
+                    connection.close();
+                } catch (SQLException ignored) {
+                    // the scan already failed or finished, nothing left to keep consistent
+                }
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface SqlWork<T> {
+        T apply(Connection connection) throws SQLException;
+    }
+
+    @FunctionalInterface
+    public interface ShardWork<T> {
+        T apply(int shard, Connection connection) throws SQLException;
+    }
+
+    @FunctionalInterface
+    public interface RowMapper<T> {
+        T map(ResultSet resultSet) throws SQLException;
+    }
+
+    @FunctionalInterface
+    public interface ShardFilter<T> {
+        boolean owns(int shard, T row);
+    }
+
+    @FunctionalInterface
+    public interface ShardKey<K> {
+        long idOf(K key);
+    }
+
+    private static class Head<T> {
+        final List<T> list;
+        final int index;
+        final T value;
+
+        Head(List<T> list, int index) {
+            this.list = list;
+            this.index = index;
+            this.value = list.get(index);
+        }
+    }
+
+    private static class Cursor<T> {
+        final int shard;
+        final ResultSet resultSet;
+        final RowMapper<T> mapper;
+        final ShardFilter<T> filter;
+        T head;
+
+        Cursor(int shard, ResultSet resultSet, RowMapper<T> mapper, ShardFilter<T> filter) {
+            this.shard = shard;
+            this.resultSet = resultSet;
+            this.mapper = mapper;
+            this.filter = filter;
+        }
+
+        boolean advance() throws SQLException {
+            while (resultSet.next()) {
+                T row = mapper.map(resultSet);
+                if (filter.owns(shard, row)) {
+                    head = row;
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
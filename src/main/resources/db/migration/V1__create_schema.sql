@@ -0,0 +1,24 @@
+CREATE TABLE IF NOT EXISTS USERS (
+    id bigserial not null primary key,
+    name varchar(100) not null,
+    age integer not null
+);
+
+CREATE SEQUENCE IF NOT EXISTS posts_id_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS POSTS (
+    id bigint not null primary key,
+    post_text varchar(150) not null,
+    dateTime timestamp,
+    user_id bigint not null references USERS(id)
+);
+
+CREATE SEQUENCE IF NOT EXISTS followers_id_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS FOLLOWERS (
+    id bigint not null primary key,
+    user_id bigint not null references USERS(id),
+    follower_id bigint not null references USERS(id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_posts_user_datetime_id ON POSTS (user_id, dateTime DESC, id DESC);
@@ -0,0 +1,10 @@
+-- Keep the oldest row of every duplicated follow before enforcing uniqueness.
+DELETE FROM FOLLOWERS duplicate
+    USING FOLLOWERS original
+    WHERE duplicate.user_id = original.user_id
+      AND duplicate.follower_id = original.follower_id
+      AND duplicate.id > original.id;
+
+CREATE UNIQUE INDEX ux_followers_user_follower ON FOLLOWERS (user_id, follower_id);
+
+CREATE INDEX idx_followers_follower_user ON FOLLOWERS (follower_id, user_id);
@@ -0,0 +1,4 @@
+CREATE TABLE REPLICA_HEARTBEAT (
+    id   INTEGER PRIMARY KEY,
+    beat BIGINT
+);
@@ -0,0 +1,12 @@
+-- Databases created from the original db/db.sql (bigserial ids on POSTS and FOLLOWERS) are
+-- baselined at V1, so their sequences still step by 1 and feed the column defaults. Post and
+-- Follower draw ids through Hibernate's pooled optimizer, which needs steps of 50 and no default.
+ALTER TABLE POSTS ALTER COLUMN id DROP DEFAULT;
+ALTER TABLE FOLLOWERS ALTER COLUMN id DROP DEFAULT;
+
+ALTER SEQUENCE posts_id_seq INCREMENT BY 50;
+ALTER SEQUENCE followers_id_seq INCREMENT BY 50;
+
+-- The next block then starts past every id already handed out.
+SELECT setval('posts_id_seq', COALESCE(MAX(id), 0) + 50) FROM POSTS;
+SELECT setval('followers_id_seq', COALESCE(MAX(id), 0) + 50) FROM FOLLOWERS;
@@ -0,0 +1,35 @@
+-- Every shard hands out ids congruent to its index modulo the shard count, so the id of a
+-- user, post or follow edge tells which shard owns it. Ids are drawn explicitly with nextval.
+CREATE SEQUENCE IF NOT EXISTS users_id_seq START WITH ${firstId} INCREMENT BY ${shardCount};
+
+CREATE TABLE IF NOT EXISTS USERS (
+    id bigint not null primary key,
+    name varchar(100) not null,
+    age integer not null
+);
+
+CREATE SEQUENCE IF NOT EXISTS posts_id_seq START WITH ${firstId} INCREMENT BY ${shardCount};
+
+-- Posts live on their author's shard.
+CREATE TABLE IF NOT EXISTS POSTS (
+    id bigint not null primary key,
+    post_text varchar(150) not null,
+    dateTime timestamp,
+    user_id bigint not null references USERS(id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_posts_user_datetime_id ON POSTS (user_id, dateTime DESC, id DESC);
+
+CREATE SEQUENCE IF NOT EXISTS followers_id_seq START WITH ${firstId} INCREMENT BY ${shardCount};
+
+-- A follow edge is stored on the followed user's shard, which draws its id, and copied under
+-- the same id to the follower's shard. Either endpoint may live elsewhere, hence no foreign keys.
+CREATE TABLE IF NOT EXISTS FOLLOWERS (
+    id bigint not null primary key,
+    user_id bigint not null,
+    follower_id bigint not null
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_followers_user_follower ON FOLLOWERS (user_id, follower_id);
+
+CREATE INDEX IF NOT EXISTS idx_followers_follower_user ON FOLLOWERS (follower_id, user_id);
@@ -0,0 +1,140 @@
+package io.github.wellpereiradevs.quarkussocial.benchmark;
+
+import io.github.wellpereiradevs.quarkussocial.rest.dto.FieldError;
+import io.github.wellpereiradevs.quarkussocial.rest.dto.FollowerResponse;
+import io.github.wellpereiradevs.quarkussocial.rest.dto.FollowersPerUseResponse;
+import io.github.wellpereiradevs.quarkussocial.rest.dto.PageResponse;
+import io.github.wellpereiradevs.quarkussocial.rest.dto.PostResponse;
+import io.github.wellpereiradevs.quarkussocial.rest.dto.ResponseError;
+import io.github.wellpereiradevs.quarkussocial.rest.json.FollowersPerUseJsonWriter;
+import io.github.wellpereiradevs.quarkussocial.rest.json.PostPageJsonWriter;
+import io.github.wellpereiradevs.quarkussocial.rest.json.ResponseErrorJsonWriter;
+import org.openjdk.jmh.annotations.*;
+
+import javax.json.bind.Jsonb;
+import javax.json.bind.JsonbBuilder;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"100"})
+    int size;
+
+    Jsonb jsonb;
+    PageResponse<PostResponse> posts;
+    FollowersPerUseResponse followers;
+    ResponseError error;
+
+    PostPageJsonWriter postPageWriter;
+    FollowersPerUseJsonWriter followersWriter;
+    ResponseErrorJsonWriter errorWriter;
+    ByteArrayOutputStream stream;
+
+    @Setup
+    public void setUp() {
+        jsonb = JsonbBuilder.create();
+
+        LocalDateTime now = LocalDateTime.now();
+        List<PostResponse> postList = new ArrayList<>(size);
+        List<FollowerResponse> followerList = new ArrayList<>(size);
+        List<FieldError> errors = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            var post = new PostResponse();
+            post.setText("Post number " + i);
+            post.setDateTime(now.minusMinutes(i));
+            postList.add(post);
+
+            followerList.add(new FollowerResponse((long) i, "Follower " + i));
+            errors.add(new FieldError("users[" + i + "].name", "Name is Required"));
+        }
+
+        posts = PageResponse.of(postList, "cursor");
+
+        followers = new FollowersPerUseResponse();
+        followers.setFollowersCount(size);
+        followers.setContent(followerList);
+
+        error = new ResponseError("Validation Error", errors);
+
+        postPageWriter = new PostPageJsonWriter();
+        followersWriter = new FollowersPerUseJsonWriter();
+        errorWriter = new ResponseErrorJsonWriter();
+        stream = new ByteArrayOutputStream(64 * 1024);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        jsonb.close();
+    }
+
+    @Benchmark
+    public String postPage() {
+        return jsonb.toJson(posts);
+    }
+
+    @Benchmark
+    public String followersPerUser() {
+        return jsonb.toJson(followers);
+    }
+
+    @Benchmark
+    public String responseError() {
+        return jsonb.toJson(error);
+    }
+
+    // The stream variants compare JSON-B with the hand-written writers on the path the
+    // server actually takes: encoding straight into the response stream.
+
+    @Benchmark
+    public int postPageJsonbStream() {
+        stream.reset();
+        jsonb.toJson(posts, stream);
+        return stream.size();
+    }
+
+    @Benchmark
+    public int postPageSpecializedStream() throws IOException {
+        stream.reset();
+        postPageWriter.write(posts, stream);
+        return stream.size();
+    }
+
+    @Benchmark
+    public int followersPerUserJsonbStream() {
+        stream.reset();
+        jsonb.toJson(followers, stream);
+        return stream.size();
+    }
+
+    @Benchmark
+    public int followersPerUserSpecializedStream() throws IOException {
+        stream.reset();
+        followersWriter.write(followers, stream);
+        return stream.size();
+    }
+
+    @Benchmark
+    public int responseErrorJsonbStream() {
+        stream.reset();
+        jsonb.toJson(error, stream);
+        return stream.size();
+    }
+
+    @Benchmark
+    public int responseErrorSpecializedStream() throws IOException {
+        stream.reset();
+        errorWriter.write(error, stream);
+        return stream.size();
+    }
+}
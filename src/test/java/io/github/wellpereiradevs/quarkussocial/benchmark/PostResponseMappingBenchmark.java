@@ -0,0 +1,45 @@
+package io.github.wellpereiradevs.quarkussocial.benchmark;
+
+import io.github.wellpereiradevs.quarkussocial.domain.model.Post;
+import io.github.wellpereiradevs.quarkussocial.rest.dto.PostResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PostResponseMappingBenchmark {
+
+    @Param({"100", "10000"})
+    int size;
+
+    List<Post> posts;
+
+    @Setup
+    public void setUp() {
+        posts = new ArrayList<>(size);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < size; i++) {
+            var post = new Post();
+            post.setId((long) i);
+            post.setText("Post number " + i);
+            post.setDateTime(now.minusMinutes(i));
+            posts.add(post);
+        }
+    }
+
+    @Benchmark
+    public List<PostResponse> fromEntity() {
+        return posts.stream()
+                .map(PostResponse::fromEntity)
+                .collect(Collectors.toList());
+    }
+}
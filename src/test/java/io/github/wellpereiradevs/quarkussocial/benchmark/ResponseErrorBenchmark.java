@@ -0,0 +1,64 @@
+package io.github.wellpereiradevs.quarkussocial.benchmark;
+
+import io.github.wellpereiradevs.quarkussocial.rest.dto.CreateUserRequest;
+import io.github.wellpereiradevs.quarkussocial.rest.dto.ResponseError;
+import org.hibernate.validator.messageinterpolation.ParameterMessageInterpolator;
+import org.openjdk.jmh.annotations.*;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Valid;
+import javax.validation.Validation;
+import javax.validation.ValidatorFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseErrorBenchmark {
+
+    @Param({"10", "1000"})
+    int invalidUsers;
+
+    ValidatorFactory validatorFactory;
+    Set<ConstraintViolation<Users>> violations;
+
+    public static class Users {
+        @Valid
+        List<CreateUserRequest> users;
+
+        Users(List<CreateUserRequest> users) {
+            this.users = users;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.byDefaultProvider()
+                .configure()
+                .messageInterpolator(new ParameterMessageInterpolator())
+                .buildValidatorFactory();
+
+        List<CreateUserRequest> users = new ArrayList<>(invalidUsers);
+        for (int i = 0; i < invalidUsers; i++) {
+            users.add(new CreateUserRequest());
+        }
+        // every user misses both name and age
+        violations = validatorFactory.getValidator().validate(new Users(users));
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public ResponseError createFromValidation() {
+        return ResponseError.createFromValidation(violations);
+    }
+}
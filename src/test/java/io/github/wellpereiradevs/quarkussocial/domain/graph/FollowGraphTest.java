@@ -0,0 +1,44 @@
+package io.github.wellpereiradevs.quarkussocial.domain.graph;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FollowGraphTest {
+
+    @Test
+    @DisplayName("should answer follows from both adjacency directions")
+    public void followsTest() {
+        var graph = new FollowGraph();
+        graph.add(1, 2);
+        graph.add(1, 3);
+        graph.add(4, 2);
+
+        assertTrue(graph.follows(1, 2));
+        assertTrue(graph.follows(4, 2));
+        assertFalse(graph.follows(2, 1));
+        assertArrayEquals(new long[]{1, 4}, graph.followerIds(2));
+        assertArrayEquals(new long[]{2, 3}, graph.followingIds(1));
+        assertEquals(2, graph.followerCount(2));
+    }
+
+    @Test
+    @DisplayName("should keep adjacency lists sorted and free of duplicates")
+    public void addRemoveTest() {
+        var graph = new FollowGraph();
+        for (long userId = 100; userId > 0; userId--) {
+            graph.add(1, userId);
+            graph.add(1, userId);
+        }
+        graph.remove(1, 50);
+
+        long[] following = graph.followingIds(1);
+        assertEquals(99, following.length);
+        for (int i = 1; i < following.length; i++) {
+            assertTrue(following[i - 1] < following[i]);
+        }
+        assertFalse(graph.follows(1, 50));
+        assertEquals(0, graph.followerCount(50));
+    }
+}
@@ -0,0 +1,62 @@
+package io.github.wellpereiradevs.quarkussocial.domain.graph;
+
+import io.github.wellpereiradevs.quarkussocial.domain.event.FollowChanged;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FollowSuggestionsTest {
+
+    @Test
+    @DisplayName("should rank friends-of-friends by mutual count and skip users already followed")
+    public void suggestTest() {
+        var graph = new FollowGraph();
+        graph.add(1, 2);
+        graph.add(1, 3);
+        graph.add(1, 4);
+        graph.add(2, 5);
+        graph.add(3, 5);
+        graph.add(4, 5);
+        graph.add(2, 6);
+        graph.add(3, 4);
+        graph.add(2, 1);
+
+        // threshold 1 forces the fork/join path
+        var suggestions = new FollowSuggestions(graph, 100, 100, 1);
+
+        assertEquals(List.of(new FollowSuggestions.Suggestion(5, 3), new FollowSuggestions.Suggestion(6, 1)),
+                suggestions.suggest(1, 10));
+        assertEquals(List.of(new FollowSuggestions.Suggestion(5, 3)), suggestions.suggest(1, 1));
+        assertArrayEquals(new long[]{2, 3, 4}, suggestions.mutuals(1, 5));
+    }
+
+    @Test
+    @DisplayName("should drop cached suggestions after a follow change")
+    public void invalidationTest() {
+        var graph = new FollowGraph();
+        graph.add(1, 2);
+        graph.add(2, 3);
+        var suggestions = new FollowSuggestions(graph, 100, 100, 256);
+        assertEquals(List.of(new FollowSuggestions.Suggestion(3, 1)), suggestions.suggest(1, 10));
+
+        graph.add(1, 3);
+        suggestions.onFollowChanged(new FollowChanged(3L, 1L, true));
+
+        assertTrue(suggestions.suggest(1, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("should intersect sorted arrays of very different sizes")
+    public void intersectTest() {
+        long[] large = new long[1000];
+        for (int i = 0; i < large.length; i++) {
+            large[i] = i * 2L;
+        }
+        assertArrayEquals(new long[]{0, 10, 1998}, FollowSuggestions.intersect(new long[]{0, 5, 10, 1998, 3000}, large));
+        assertArrayEquals(new long[]{4, 6}, FollowSuggestions.intersect(new long[]{1, 4, 6, 9}, new long[]{2, 4, 6, 8}));
+        assertArrayEquals(new long[0], FollowSuggestions.intersect(new long[0], large));
+    }
+}
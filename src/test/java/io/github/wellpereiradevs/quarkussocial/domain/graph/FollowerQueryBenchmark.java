@@ -0,0 +1,132 @@
+package io.github.wellpereiradevs.quarkussocial.domain.graph;
+
+import io.github.wellpereiradevs.quarkussocial.domain.model.Follower;
+import io.github.wellpereiradevs.quarkussocial.domain.model.Post;
+import io.github.wellpereiradevs.quarkussocial.domain.model.User;
+import io.github.wellpereiradevs.quarkussocial.rest.dto.FollowerResponse;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the {@code FollowerRepository} queries against an embedded H2 database
+ * with the in-memory {@link FollowGraph} that now answers {@code follows}.
+ * Hibernate is bootstrapped directly, outside Quarkus, with the same entities.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FollowerQueryBenchmark {
+
+    @Param({"2000"})
+    int users;
+
+    @Param({"50"})
+    int followingPerUser;
+
+    SessionFactory sessionFactory;
+    Session session;
+    FollowGraph graph;
+    SplittableRandom random;
+
+    @Setup
+    public void setUp() {
+        var registry = new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.URL, "jdbc:h2:mem:follower-benchmark;DB_CLOSE_DELAY=-1")
+                .applySetting(AvailableSettings.USER, "sa")
+                .applySetting(AvailableSettings.PASS, "sa")
+                .applySetting(AvailableSettings.DRIVER, "org.h2.Driver")
+                .applySetting(AvailableSettings.DIALECT, "org.hibernate.dialect.H2Dialect")
+                .applySetting(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .applySetting(AvailableSettings.STATEMENT_BATCH_SIZE, "50")
+                .applySetting(AvailableSettings.USE_SECOND_LEVEL_CACHE, "false")
+                .build();
+        sessionFactory = new MetadataSources(registry)
+                .addAnnotatedClass(User.class)
+                .addAnnotatedClass(Post.class)
+                .addAnnotatedClass(Follower.class)
+                .buildMetadata()
+                .buildSessionFactory();
+
+        graph = new FollowGraph();
+        random = new SplittableRandom(42);
+
+        try (Session seed = sessionFactory.openSession()) {
+            seed.beginTransaction();
+            for (int i = 0; i < users; i++) {
+                var user = new User();
+                user.setName("User " + i);
+                user.setAge(20 + i % 50);
+                seed.persist(user);
+            }
+            seed.flush();
+            seed.clear();
+
+            for (long followerId = 1; followerId <= users; followerId++) {
+                for (int j = 1; j <= followingPerUser; j++) {
+                    long userId = (followerId + j) % users + 1;
+                    var follower = new Follower();
+                    follower.setFollower(seed.getReference(User.class, followerId));
+                    follower.setUser(seed.getReference(User.class, userId));
+                    seed.persist(follower);
+                    graph.add(followerId, userId);
+                }
+                seed.flush();
+                seed.clear();
+            }
+            seed.getTransaction().commit();
+        }
+
+        session = sessionFactory.openSession();
+    }
+
+    @TearDown
+    public void tearDown() {
+        session.close();
+        sessionFactory.close();
+    }
+
+    private long randomUserId() {
+        return random.nextInt(users) + 1;
+    }
+
+    @Benchmark
+    public boolean followsQuery() {
+        // the query FollowerRepository.follows used to run for every request
+        List<Follower> result = session
+                .createQuery("from Follower where follower.id = :follower and user.id = :user", Follower.class)
+                .setParameter("follower", randomUserId())
+                .setParameter("user", randomUserId())
+                .setMaxResults(1)
+                .getResultList();
+        session.clear();
+        return !result.isEmpty();
+    }
+
+    @Benchmark
+    public boolean followsGraph() {
+        return graph.follows(randomUserId(), randomUserId());
+    }
+
+    @Benchmark
+    public List<FollowerResponse> followersPage() {
+        List<FollowerResponse> page = session
+                .createQuery("select new " + FollowerResponse.class.getName() + "(f.id, f.follower.name) " +
+                        "from Follower f where f.user.id = :userId order by f.id", FollowerResponse.class)
+                .setParameter("userId", randomUserId())
+                .setMaxResults(100)
+                .getResultList();
+        session.clear();
+        return page;
+    }
+}
@@ -0,0 +1,81 @@
+package io.github.wellpereiradevs.quarkussocial.loadtest;
+
+import io.github.wellpereiradevs.quarkussocial.rest.dto.BatchFollowRequest;
+import io.github.wellpereiradevs.quarkussocial.rest.dto.CreateFollowerRequest;
+import io.github.wellpereiradevs.quarkussocial.rest.dto.FollowAction;
+import io.github.wellpereiradevs.quarkussocial.rest.dto.FollowOperation;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Times {@code OPERATIONS} single follow calls against one batch of the same size.
+ *
+ * Excluded from the default build; run it with {@code mvn test -Pload-test}.
+ */
+@QuarkusTest
+@Tag("load")
+class FollowerBatchThroughputTest {
+
+    private static final int OPERATIONS = 200;
+
+    @Inject
+    SocialGraphSeeder seeder;
+
+    @Test
+    void batchIsFasterThanSingleCalls() {
+        Long followerId = seeder.createUsers(1, 0).get(0);
+        List<Long> targetIds = seeder.createUsers(OPERATIONS * 2, 1);
+
+        var single = new CreateFollowerRequest();
+        single.setFollowerId(followerId);
+
+        long singleStart = System.nanoTime();
+        for (Long targetId : targetIds.subList(0, OPERATIONS)) {
+            given()
+                    .contentType(ContentType.JSON)
+                    .body(single)
+                    .pathParam("userId", targetId)
+                    .when()
+                    .put("/users/{userId}/followers")
+                    .then()
+                    .statusCode(204);
+        }
+        long singleNanos = System.nanoTime() - singleStart;
+
+        var request = new BatchFollowRequest();
+        List<FollowOperation> operations = new ArrayList<>();
+        for (Long targetId : targetIds.subList(OPERATIONS, OPERATIONS * 2)) {
+            var operation = new FollowOperation();
+            operation.setUserId(targetId);
+            operation.setFollowerId(followerId);
+            operation.setAction(FollowAction.FOLLOW);
+            operations.add(operation);
+        }
+        request.setOperations(operations);
+
+        long batchStart = System.nanoTime();
+        given()
+                .contentType(ContentType.JSON)
+                .body(request)
+                .when()
+                .post("/followers/batch")
+                .then()
+                .statusCode(200)
+                .body("followed", Matchers.is(OPERATIONS));
+        long batchNanos = System.nanoTime() - batchStart;
+
+        System.out.printf("%d follows: single calls %d ms, one batch %d ms%n",
+                OPERATIONS, singleNanos / 1_000_000, batchNanos / 1_000_000);
+        assertTrue(batchNanos < singleNanos);
+    }
+}
@@ -0,0 +1,66 @@
+package io.github.wellpereiradevs.quarkussocial.loadtest;
+
+import lombok.Value;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Load test knobs, read from {@code -Dload.*} system properties so the same harness can be
+ * pointed at different graph sizes and request rates without code changes.
+ */
+@Value
+class LoadConfig {
+
+    int users;
+    int averageFollowing;
+    int averagePosts;
+    double popularityExponent;
+    int requestsPerSecond;
+    int warmupSeconds;
+    int durationSeconds;
+    double maxErrorRate;
+    long seed;
+    Map<Operation, Integer> mix;
+    String report;
+
+    static LoadConfig fromSystemProperties() {
+        return new LoadConfig(
+                Integer.getInteger("load.users", 2000),
+                Integer.getInteger("load.averageFollowing", 25),
+                Integer.getInteger("load.averagePosts", 5),
+                Double.parseDouble(System.getProperty("load.popularityExponent", "1.1")),
+                Integer.getInteger("load.rps", 200),
+                Integer.getInteger("load.warmupSeconds", 5),
+                Integer.getInteger("load.durationSeconds", 30),
+                Double.parseDouble(System.getProperty("load.maxErrorRate", "0.01")),
+                Long.getLong("load.seed", 42L),
+                parseMix(System.getProperty("load.mix",
+                        "listPosts=45,feed=15,listFollowers=15,listUsers=5,createPost=15,follow=5")),
+                System.getProperty("load.report", "target/load-test-report.json"));
+    }
+
+    private static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> mix = new LinkedHashMap<>();
+        for (String part : value.split(",")) {
+            String[] entry = part.trim().split("=");
+            mix.put(Operation.valueOf(entry[0].trim()), Integer.parseInt(entry[1].trim()));
+        }
+        return mix;
+    }
+
+    enum Operation {
+        listPosts("GET /users/{id}/posts"),
+        feed("GET /users/{id}/feed"),
+        listFollowers("GET /users/{id}/followers"),
+        listUsers("GET /users"),
+        createPost("POST /users/{id}/posts"),
+        follow("PUT /users/{id}/followers");
+
+        final String endpoint;
+
+        Operation(String endpoint) {
+            this.endpoint = endpoint;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package io.github.wellpereiradevs.quarkussocial.loadtest;
+
+import io.github.wellpereiradevs.quarkussocial.domain.model.FollowEdge;
+import io.github.wellpereiradevs.quarkussocial.domain.model.Post;
+import io.github.wellpereiradevs.quarkussocial.domain.model.User;
+import io.github.wellpereiradevs.quarkussocial.domain.repository.FollowerRepository;
+import io.github.wellpereiradevs.quarkussocial.domain.repository.PostRepository;
+import io.github.wellpereiradevs.quarkussocial.domain.repository.UserRepository;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.transaction.Transactional;
+import java.util.ArrayList;
+import java.util.List;
+
+@ApplicationScoped
+public class SocialGraphSeeder {
+
+    @Inject
+    UserRepository userRepository;
+
+    @Inject
+    FollowerRepository followerRepository;
+
+    @Inject
+    PostRepository postRepository;
+
+    @Transactional
+    public List<Long> createUsers(int count, int offset) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            var user = new User();
+            user.setName("Load user " + (offset + i));
+            user.setAge(18 + (offset + i) % 60);
+            userRepository.persist(user);
+            users.add(user);
+        }
+        userRepository.flush();
+
+        List<Long> ids = new ArrayList<>(count);
+        users.forEach(user -> ids.add(user.getId()));
+        return ids;
+    }
+
+    @Transactional
+    public void follow(List<FollowEdge> edges) {
+        followerRepository.follow(edges);
+    }
+
+    @Transactional
+    public void createPosts(List<Long> authorIds) {
+        var entityManager = postRepository.getEntityManager();
+        for (Long authorId : authorIds) {
+            var post = new Post();
+            post.setText("Load post from " + authorId);
+            post.setUser(entityManager.getReference(User.class, authorId));
+            postRepository.persist(post);
+        }
+    }
+}
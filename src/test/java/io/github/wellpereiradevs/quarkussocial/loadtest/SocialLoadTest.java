@@ -0,0 +1,309 @@
+package io.github.wellpereiradevs.quarkussocial.loadtest;
+
+import io.github.wellpereiradevs.quarkussocial.domain.model.FollowEdge;
+import io.github.wellpereiradevs.quarkussocial.loadtest.LoadConfig.Operation;
+import io.quarkus.test.common.http.TestHTTPResource;
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import javax.inject.Inject;
+import javax.json.bind.JsonbBuilder;
+import javax.json.bind.JsonbConfig;
+import java.net.URI;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Seeds a power-law follow graph and drives the REST API with an open-loop request schedule.
+ * Latency is measured from the intended send time, so a stalled server shows up in the tail
+ * instead of silently lowering the offered load. Rate limiting is off in the test profile;
+ * when it is switched on with {@code -Dsocial.rate-limit.enabled=true}, 429 answers are
+ * reported per endpoint as throttled rather than hidden among the successes.
+ *
+ * Excluded from the default build; run it with {@code mvn test -Pload-test}.
+ */
+@QuarkusTest
+@Tag("load")
+class SocialLoadTest {
+
+    private static final int SEED_CHUNK = 500;
+
+    @TestHTTPResource("/")
+    URL baseUrl;
+
+    @Inject
+    SocialGraphSeeder seeder;
+
+    private final Map<Operation, Stats> stats = new EnumMap<>(Operation.class);
+
+    @Test
+    void run() throws Exception {
+        LoadConfig config = LoadConfig.fromSystemProperties();
+        SplittableRandom random = new SplittableRandom(config.getSeed());
+
+        long seedStart = System.nanoTime();
+        long[] userIds = seedUsers(config);
+        ZipfSampler popularity = new ZipfSampler(userIds.length, config.getPopularityExponent());
+        List<FollowEdge> edges = seedFollowers(config, userIds, popularity, random);
+        int posts = seedPosts(config, userIds, popularity, random);
+        System.out.printf("Seeded %d users, %d follow edges and %d posts in %d ms%n",
+                userIds.length, edges.size(), posts,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - seedStart));
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        Workload workload = new Workload(config, userIds, edges, popularity);
+
+        drive(client, workload, random, config.getRequestsPerSecond(), config.getWarmupSeconds());
+        stats.clear();
+        long elapsed = drive(client, workload, random, config.getRequestsPerSecond(), config.getDurationSeconds());
+
+        Map<String, Object> report = report(config, elapsed);
+        Files.createDirectories(Path.of(config.getReport()).toAbsolutePath().getParent());
+        Files.writeString(Path.of(config.getReport()),
+                JsonbBuilder.create(new JsonbConfig().withFormatting(true)).toJson(report));
+
+        long requests = stats.values().stream().mapToLong(s -> s.latency.count()).sum();
+        long errors = stats.values().stream().mapToLong(s -> s.errors.sum()).sum();
+        Assertions.assertTrue(requests > 0, "no requests completed");
+        Assertions.assertTrue((double) errors / requests <= config.getMaxErrorRate(),
+                "error rate " + errors + "/" + requests + " above " + config.getMaxErrorRate());
+    }
+
+    private long[] seedUsers(LoadConfig config) {
+        long[] ids = new long[config.getUsers()];
+        for (int offset = 0; offset < ids.length; offset += SEED_CHUNK) {
+            int count = Math.min(SEED_CHUNK, ids.length - offset);
+            List<Long> created = seeder.createUsers(count, offset);
+            for (int i = 0; i < count; i++) {
+                ids[offset + i] = created.get(i);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Out-degree follows a Pareto distribution with the configured mean, and every followee is
+     * drawn by popularity rank, so a handful of accounts end up with most of the followers.
+     */
+    private List<FollowEdge> seedFollowers(LoadConfig config, long[] userIds, ZipfSampler popularity,
+                                           SplittableRandom random) {
+        double alpha = 2.0;
+        double scale = config.getAverageFollowing() * (alpha - 1) / alpha;
+        List<FollowEdge> edges = new ArrayList<>();
+        List<FollowEdge> chunk = new ArrayList<>(SEED_CHUNK);
+
+        for (long followerId : userIds) {
+            double pareto = scale / Math.pow(1.0 - random.nextDouble(), 1.0 / alpha);
+            int following = (int) Math.min(userIds.length - 1, Math.max(1, Math.round(pareto)));
+            Set<Long> followed = new HashSet<>();
+            for (int attempt = 0; followed.size() < following && attempt < following * 4; attempt++) {
+                long userId = userIds[popularity.sample(random)];
+                if (userId != followerId && followed.add(userId)) {
+                    FollowEdge edge = new FollowEdge(userId, followerId);
+                    edges.add(edge);
+                    chunk.add(edge);
+                    if (chunk.size() == SEED_CHUNK) {
+                        seeder.follow(chunk);
+                        chunk = new ArrayList<>(SEED_CHUNK);
+                    }
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            seeder.follow(chunk);
+        }
+        return edges;
+    }
+
+    private int seedPosts(LoadConfig config, long[] userIds, ZipfSampler popularity, SplittableRandom random) {
+        int total = config.getUsers() * config.getAveragePosts();
+        List<Long> authors = new ArrayList<>(SEED_CHUNK);
+        for (int i = 0; i < total; i++) {
+            authors.add(userIds[popularity.sample(random)]);
+            if (authors.size() == SEED_CHUNK) {
+                seeder.createPosts(authors);
+                authors.clear();
+            }
+        }
+        if (!authors.isEmpty()) {
+            seeder.createPosts(authors);
+        }
+        return total;
+    }
+
+    private long drive(HttpClient client, Workload workload, SplittableRandom random,
+                       int requestsPerSecond, int seconds) throws InterruptedException {
+        if (seconds <= 0) {
+            return 0;
+        }
+        long interval = TimeUnit.SECONDS.toNanos(1) / requestsPerSecond;
+        long total = (long) requestsPerSecond * seconds;
+        long start = System.nanoTime();
+        List<CompletableFuture<?>> inFlight = new ArrayList<>();
+
+        for (long i = 0; i < total; i++) {
+            long intended = start + i * interval;
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Operation operation = workload.nextOperation(random);
+            Stats target = stats.computeIfAbsent(operation, o -> new Stats());
+            inFlight.add(client.sendAsync(workload.request(operation, random, baseUrl),
+                            HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        target.latency.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intended));
+                        if (error != null || response.statusCode() >= 500) {
+                            target.errors.increment();
+                        } else if (response.statusCode() == 429) {
+                            target.throttled.increment();
+                        }
+                    }));
+        }
+        try {
+            CompletableFuture.allOf(inFlight.toArray(new CompletableFuture[0])).get(60, TimeUnit.SECONDS);
+        } catch (Exception ignored) {
+            // failures and timeouts are already counted per request
+        }
+        return System.nanoTime() - start;
+    }
+
+    private Map<String, Object> report(LoadConfig config, long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        System.out.printf("%-28s %9s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "req/s", "errors", "throttled", "p50 ms", "p95 ms", "p99 ms", "p999 ms", "max ms");
+        stats.forEach((operation, s) -> {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("requests", s.latency.count());
+            row.put("throughput", s.latency.count() / seconds);
+            row.put("errors", s.errors.sum());
+            row.put("throttled", s.throttled.sum());
+            row.put("p50Ms", s.latency.percentile(50) / 1000.0);
+            row.put("p95Ms", s.latency.percentile(95) / 1000.0);
+            row.put("p99Ms", s.latency.percentile(99) / 1000.0);
+            row.put("p999Ms", s.latency.percentile(99.9) / 1000.0);
+            row.put("maxMs", s.latency.max() / 1000.0);
+            endpoints.put(operation.endpoint, row);
+            System.out.printf("%-28s %9d %9.1f %7d %9d %9.2f %9.2f %9.2f %9.2f %9.2f%n", operation.endpoint,
+                    row.get("requests"), row.get("throughput"), row.get("errors"), row.get("throttled"), row.get("p50Ms"),
+                    row.get("p95Ms"), row.get("p99Ms"), row.get("p999Ms"), row.get("maxMs"));
+        });
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("users", config.getUsers());
+        settings.put("averageFollowing", config.getAverageFollowing());
+        settings.put("averagePosts", config.getAveragePosts());
+        settings.put("popularityExponent", config.getPopularityExponent());
+        settings.put("requestsPerSecond", config.getRequestsPerSecond());
+        settings.put("mix", System.getProperty("load.mix", config.getMix().toString()));
+        report.put("config", settings);
+        report.put("durationSeconds", seconds);
+        report.put("endpoints", endpoints);
+        return report;
+    }
+
+    private static class Stats {
+        final LatencyHistogram latency = new LatencyHistogram();
+        final LongAdder errors = new LongAdder();
+        final LongAdder throttled = new LongAdder();
+    }
+
+    private static class Workload {
+
+        private final long[] userIds;
+        private final List<FollowEdge> edges;
+        private final ZipfSampler popularity;
+        private final Operation[] operations;
+        private final int[] cumulativeWeights;
+
+        Workload(LoadConfig config, long[] userIds, List<FollowEdge> edges, ZipfSampler popularity) {
+            this.userIds = userIds;
+            this.edges = edges;
+            this.popularity = popularity;
+            this.operations = config.getMix().keySet().toArray(new Operation[0]);
+            this.cumulativeWeights = new int[operations.length];
+            int sum = 0;
+            for (int i = 0; i < operations.length; i++) {
+                sum += config.getMix().get(operations[i]);
+                cumulativeWeights[i] = sum;
+            }
+        }
+
+        Operation nextOperation(SplittableRandom random) {
+            int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+            for (int i = 0; i < cumulativeWeights.length; i++) {
+                if (pick < cumulativeWeights[i]) {
+                    return operations[i];
+                }
+            }
+            return operations[operations.length - 1];
+        }
+
+        HttpRequest request(Operation operation, SplittableRandom random, URL baseUrl) {
+            String base = baseUrl.toString().replaceAll("/$", "");
+            switch (operation) {
+                case listPosts: {
+                    FollowEdge edge = edges.get(random.nextInt(edges.size()));
+                    return HttpRequest.newBuilder(URI.create(base + "/users/" + edge.getUserId() + "/posts"))
+                            .header("followerId", String.valueOf(edge.getFollowerId()))
+                            .GET().build();
+                }
+                case feed:
+                    return get(base + "/users/" + anyUser(random) + "/feed");
+                case listFollowers:
+                    return get(base + "/users/" + popularUser(random) + "/followers");
+                case listUsers:
+                    return get(base + "/users?limit=20");
+                case createPost:
+                    return HttpRequest.newBuilder(URI.create(base + "/users/" + popularUser(random) + "/posts"))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString("{\"text\":\"load test post\"}"))
+                            .build();
+                case follow:
+                default:
+                    long userId = popularUser(random);
+                    long followerId = anyUser(random);
+                    while (followerId == userId) {
+                        followerId = anyUser(random);
+                    }
+                    return HttpRequest.newBuilder(URI.create(base + "/users/" + userId + "/followers"))
+                            .header("Content-Type", "application/json")
+                            .PUT(HttpRequest.BodyPublishers.ofString("{\"followerId\":" + followerId + "}"))
+                            .build();
+            }
+        }
+
+        private long anyUser(SplittableRandom random) {
+            return userIds[random.nextInt(userIds.length)];
+        }
+
+        private long popularUser(SplittableRandom random) {
+            return userIds[popularity.sample(random)];
+        }
+
+        private static HttpRequest get(String uri) {
+            return HttpRequest.newBuilder(URI.create(uri)).GET().build();
+        }
+    }
+}
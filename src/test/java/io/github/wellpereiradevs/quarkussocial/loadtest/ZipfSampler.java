@@ -0,0 +1,31 @@
+package io.github.wellpereiradevs.quarkussocial.loadtest;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Samples ranks {@code 0..n-1} with probability proportional to {@code 1 / (rank + 1)^exponent},
+ * which gives the power-law popularity seen in real follow graphs.
+ */
+class ZipfSampler {
+
+    private final double[] cumulative;
+
+    ZipfSampler(int n, double exponent) {
+        cumulative = new double[n];
+        double sum = 0;
+        for (int rank = 0; rank < n; rank++) {
+            sum += 1.0 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = sum;
+        }
+        for (int rank = 0; rank < n; rank++) {
+            cumulative[rank] /= sum;
+        }
+    }
+
+    int sample(SplittableRandom random) {
+        int position = Arrays.binarySearch(cumulative, random.nextDouble());
+        int rank = position >= 0 ? position : -position - 1;
+        return Math.min(rank, cumulative.length - 1);
+    }
+}
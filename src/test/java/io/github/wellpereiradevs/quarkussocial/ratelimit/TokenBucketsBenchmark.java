@@ -0,0 +1,39 @@
+package io.github.wellpereiradevs.quarkussocial.ratelimit;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a rate limit check at high thread counts: every thread on one hot key
+ * (worst-case CAS contention) and every thread on its own users.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(64)
+public class TokenBucketsBenchmark {
+
+    private static final int USERS = 100_000;
+
+    TokenBuckets buckets;
+
+    @Setup
+    public void setUp() {
+        buckets = new TokenBuckets(1_000, 16_000, USERS * 2);
+    }
+
+    @Benchmark
+    public long sameUser() {
+        return buckets.tryAcquire(42);
+    }
+
+    @Benchmark
+    public long manyUsers() {
+        return buckets.tryAcquire(ThreadLocalRandom.current().nextInt(USERS));
+    }
+}
@@ -0,0 +1,77 @@
+package io.github.wellpereiradevs.quarkussocial.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketsTest {
+
+    @Test
+    @DisplayName("should allow the burst and then ask the caller to wait")
+    public void burstTest() {
+        var buckets = new TokenBuckets(1, 3, 100);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, buckets.tryAcquire(7));
+        }
+        long wait = buckets.tryAcquire(7);
+        assertTrue(wait > 0 && wait <= 1000, "wait " + wait);
+        assertEquals(0, buckets.tryAcquire(8));
+    }
+
+    @Test
+    @DisplayName("should never hand out more permits than the burst under contention")
+    public void contentionTest() throws InterruptedException {
+        var buckets = new TokenBuckets(1, 500, 100);
+        var granted = new AtomicInteger();
+        var start = new CountDownLatch(1);
+        Thread[] threads = new Thread[16];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < 200; i++) {
+                    if (buckets.tryAcquire(1) == 0) {
+                        granted.incrementAndGet();
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(granted.get() >= 500 && granted.get() <= 510, "granted " + granted.get());
+    }
+
+    @Test
+    @DisplayName("should evict refilled buckets once the map is full")
+    public void evictionTest() throws InterruptedException {
+        var buckets = new TokenBuckets(1000, 1, 10);
+        for (long key = 0; key < 10; key++) {
+            buckets.tryAcquire(key);
+        }
+        Thread.sleep(5);
+        buckets.tryAcquire(99);
+        assertEquals(1, buckets.size());
+    }
+
+    @Test
+    @DisplayName("should refuse new keys while the map is full of active buckets")
+    public void hardCapTest() {
+        var buckets = new TokenBuckets(1, 1, 2);
+        assertEquals(0, buckets.tryAcquire(1));
+        assertEquals(0, buckets.tryAcquire(2));
+        for (long key = 3; key < 100; key++) {
+            assertTrue(buckets.tryAcquire(key) > 0);
+        }
+        assertEquals(2, buckets.size());
+    }
+}
@@ -0,0 +1,53 @@
+package io.github.wellpereiradevs.quarkussocial.rest;
+
+import io.github.wellpereiradevs.quarkussocial.domain.model.User;
+import io.github.wellpereiradevs.quarkussocial.domain.repository.UserRepository;
+import io.quarkus.test.junit.QuarkusTest;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.inject.Inject;
+import javax.transaction.Transactional;
+
+import static io.restassured.RestAssured.given;
+
+@QuarkusTest
+class CacheStatsResourceTest {
+
+    @Inject
+    UserRepository userRepository;
+
+    Long userId;
+
+    @BeforeEach
+    @Transactional
+    void setUp() {
+        var user = new User();
+        user.setAge(30);
+        user.setName("Fulano");
+        userRepository.persist(user);
+        userId = user.getId();
+    }
+
+    @Test
+    @DisplayName("should report hits on the User region")
+    public void userRegionHitsTest() {
+        for (int i = 0; i < 2; i++) {
+            given()
+                    .pathParam("userId", userId)
+                    .when()
+                    .get("/users/{userId}/feed")
+                    .then()
+                    .statusCode(200);
+        }
+
+        given()
+                .when()
+                .get("/cache/stats")
+                .then()
+                .statusCode(200)
+                .body("find { it.region == '" + User.class.getName() + "' }.hitCount", Matchers.greaterThan(0));
+    }
+}
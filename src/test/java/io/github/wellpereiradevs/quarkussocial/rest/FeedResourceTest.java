@@ -0,0 +1,92 @@
+package io.github.wellpereiradevs.quarkussocial.rest;
+
+import io.github.wellpereiradevs.quarkussocial.domain.model.Follower;
+import io.github.wellpereiradevs.quarkussocial.domain.model.Post;
+import io.github.wellpereiradevs.quarkussocial.domain.model.User;
+import io.github.wellpereiradevs.quarkussocial.domain.repository.FollowerRepository;
+import io.github.wellpereiradevs.quarkussocial.domain.repository.PostRepository;
+import io.github.wellpereiradevs.quarkussocial.domain.repository.UserRepository;
+import io.quarkus.test.common.http.TestHTTPEndpoint;
+import io.quarkus.test.junit.QuarkusTest;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.inject.Inject;
+import javax.transaction.Transactional;
+
+import static io.restassured.RestAssured.given;
+
+@QuarkusTest
+@TestHTTPEndpoint(FeedResource.class)
+class FeedResourceTest {
+
+    @Inject
+    UserRepository userRepository;
+
+    @Inject
+    FollowerRepository followerRepository;
+
+    @Inject
+    PostRepository postRepository;
+
+    Long userId;
+    Long followedId;
+
+    @BeforeEach
+    @Transactional
+    void setUp() {
+        //User reading the feed
+        var user = new User();
+        user.setAge(30);
+        user.setName("Fulano");
+        userRepository.persist(user);
+        userId = user.getId();
+
+        //User being followed
+        var followed = new User();
+        followed.setAge(31);
+        followed.setName("Beltrano");
+        userRepository.persist(followed);
+        followedId = followed.getId();
+
+        var follower = new Follower();
+        follower.setUser(followed);
+        follower.setFollower(user);
+        followerRepository.persist(follower);
+
+        //Posts from the followed user
+        for (String text : new String[]{"First", "Second"}) {
+            var post = new Post();
+            post.setText(text);
+            post.setUser(followed);
+            postRepository.persist(post);
+        }
+    }
+
+    @Test
+    @DisplayName("should return 404 when user doesn't exist")
+    public void feedUserNotFoundTest() {
+        given()
+                .pathParam("userId", 999)
+                .when()
+                .get()
+                .then()
+                .statusCode(404);
+    }
+
+    @Test
+    @DisplayName("should list posts from followed users, newest first")
+    public void feedTest() {
+        given()
+                .pathParam("userId", userId)
+                .when()
+                .get()
+                .then()
+                .statusCode(200)
+                .body("content.size()", Matchers.is(2))
+                .body("content[0].text", Matchers.is("Second"))
+                .body("content[0].userId", Matchers.is(followedId.intValue()));
+    }
+}
@@ -0,0 +1,140 @@
+package io.github.wellpereiradevs.quarkussocial.rest;
+
+import io.github.wellpereiradevs.quarkussocial.domain.model.Follower;
+import io.github.wellpereiradevs.quarkussocial.domain.model.User;
+import io.github.wellpereiradevs.quarkussocial.domain.repository.FollowerRepository;
+import io.github.wellpereiradevs.quarkussocial.domain.repository.UserRepository;
+import io.github.wellpereiradevs.quarkussocial.rest.dto.BatchFollowRequest;
+import io.github.wellpereiradevs.quarkussocial.rest.dto.FollowAction;
+import io.github.wellpereiradevs.quarkussocial.rest.dto.FollowOperation;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.inject.Inject;
+import javax.transaction.Transactional;
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+
+@QuarkusTest
+class FollowerBatchResourceTest {
+
+    private static final int TARGETS = 3;
+
+    @Inject
+    UserRepository userRepository;
+
+    @Inject
+    FollowerRepository followerRepository;
+
+    Long followerId;
+    Long followedId;
+    List<Long> targetIds;
+
+    @BeforeEach
+    @Transactional
+    void setUp() {
+        var follower = newUser("Fulano");
+        followerId = follower.getId();
+
+        //Already followed before the batch runs
+        var followed = newUser("Beltrano");
+        followedId = followed.getId();
+        var followerEntity = new Follower();
+        followerEntity.setUser(followed);
+        followerEntity.setFollower(follower);
+        followerRepository.persist(followerEntity);
+
+        targetIds = new ArrayList<>();
+        for (int i = 0; i < TARGETS; i++) {
+            targetIds.add(newUser("Ciclano " + i).getId());
+        }
+    }
+
+    private User newUser(String name) {
+        var user = new User();
+        user.setAge(30);
+        user.setName(name);
+        userRepository.persist(user);
+        return user;
+    }
+
+    private static FollowOperation operation(Long userId, Long followerId, FollowAction action) {
+        var operation = new FollowOperation();
+        operation.setUserId(userId);
+        operation.setFollowerId(followerId);
+        operation.setAction(action);
+        return operation;
+    }
+
+    @Test
+    @DisplayName("should apply follows and unfollows and report invalid operations")
+    public void applyBatchTest() {
+        var request = new BatchFollowRequest();
+        request.setOperations(List.of(
+                operation(targetIds.get(0), followerId, FollowAction.FOLLOW),
+                operation(targetIds.get(0), followerId, FollowAction.FOLLOW),
+                operation(followedId, followerId, FollowAction.UNFOLLOW),
+                operation(targetIds.get(1), followerId, FollowAction.UNFOLLOW),
+                operation(999L, followerId, FollowAction.FOLLOW),
+                operation(followerId, followerId, FollowAction.FOLLOW)
+        ));
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(request)
+                .when()
+                .post("/followers/batch")
+                .then()
+                .statusCode(200)
+                .body("followed", Matchers.is(1))
+                .body("unfollowed", Matchers.is(1))
+                .body("unchanged", Matchers.is(1))
+                .body("failures.size()", Matchers.is(2))
+                .body("failures[0].field", Matchers.is("operations[4].userId"));
+
+        given()
+                .pathParam("userId", targetIds.get(0))
+                .when()
+                .get("/users/{userId}/followers")
+                .then()
+                .statusCode(200)
+                .body("followersCount", Matchers.is(1));
+    }
+
+    @Test
+    @DisplayName("should follow every target of a batch")
+    public void followAllInOneBatchTest() {
+        var request = new BatchFollowRequest();
+        List<FollowOperation> operations = new ArrayList<>();
+        for (Long targetId : targetIds) {
+            operations.add(operation(targetId, followerId, FollowAction.FOLLOW));
+        }
+        request.setOperations(operations);
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(request)
+                .when()
+                .post("/followers/batch")
+                .then()
+                .statusCode(200)
+                .body("followed", Matchers.is(TARGETS))
+                .body("failures.size()", Matchers.is(0));
+
+        for (Long targetId : targetIds) {
+            given()
+                    .pathParam("userId", targetId)
+                    .when()
+                    .get("/users/{userId}/followers")
+                    .then()
+                    .statusCode(200)
+                    .body("followersCount", Matchers.is(1));
+        }
+    }
+}
@@ -4,6 +4,7 @@ import io.github.wellpereiradevs.quarkussocial.domain.model.Follower;
 import io.github.wellpereiradevs.quarkussocial.domain.model.User;
 import io.github.wellpereiradevs.quarkussocial.domain.repository.FollowerRepository;
 import io.github.wellpereiradevs.quarkussocial.domain.repository.UserRepository;
+import io.github.wellpereiradevs.quarkussocial.rest.cbor.CborMessageBodyWriter;
 import io.github.wellpereiradevs.quarkussocial.rest.dto.CreateFollowerRequest;
 import io.quarkus.test.common.http.TestHTTPEndpoint;
 import io.quarkus.test.junit.QuarkusTest;
@@ -14,6 +15,7 @@ import org.junit.jupiter.api.*;
 import javax.inject.Inject;
 import javax.transaction.Transactional;
 import javax.ws.rs.core.Response;
+import java.nio.charset.StandardCharsets;
 
 import static io.restassured.RestAssured.given;
 import static org.junit.jupiter.api.Assertions.*;
@@ -109,6 +111,52 @@ class FollowerResourceTest {
                 .statusCode(Response.Status.NO_CONTENT.getStatusCode());
     }
 
+    @Test
+    @DisplayName("should return 400 on follow a user when followerId doesn't exist")
+    public void followerNotFoundWhenTryingToFollowTest(){
+
+        var body = new CreateFollowerRequest();
+        body.setFollowerId(999L);
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(body)
+                .pathParam("userId", userId)
+                .when()
+                .put()
+                .then()
+                .statusCode(Response.Status.BAD_REQUEST.getStatusCode())
+                .body(Matchers.is("Nonexistent followerId"));
+    }
+
+    @Test
+    @DisplayName("should keep a single follow when the same follow is repeated")
+    public void repeatedFollowIsIdempotentTest(){
+
+        var body = new CreateFollowerRequest();
+        body.setFollowerId(followerId);
+
+        for (int i = 0; i < 3; i++) {
+            given()
+                    .contentType(ContentType.JSON)
+                    .body(body)
+                    .pathParam("userId", userId)
+                    .when()
+                    .put()
+                    .then()
+                    .statusCode(Response.Status.NO_CONTENT.getStatusCode());
+        }
+
+        given()
+                .pathParam("userId", userId)
+                .when()
+                .get()
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .body("followersCount", Matchers.is(1))
+                .body("content.size()", Matchers.is(1));
+    }
+
     @Test
     @DisplayName("should return 404 on list user followers and userId doesn't exist")
     public void userNotFoundWhenListingFollowersTest(){
@@ -140,6 +188,46 @@ class FollowerResourceTest {
         assertEquals(Response.Status.OK.getStatusCode(), response.statusCode());
         assertEquals(1, followersCount);
         assertEquals(1, followersContent.size());
+        assertNull(response.jsonPath().get("next"));
+    }
+
+    @Test
+    @DisplayName("should list a user's followers as CBOR only when asked to")
+    public void listingFollowersAsCborTest(){
+        byte[] body =
+        given()
+                .accept(CborMessageBodyWriter.APPLICATION_CBOR)
+                .pathParam("userId", userId)
+                .when()
+                .get()
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .contentType(CborMessageBodyWriter.APPLICATION_CBOR)
+                .extract().asByteArray();
+        assertEquals((byte) 0xbf, body[0]);
+        assertTrue(new String(body, StandardCharsets.UTF_8).contains("followersCount"));
+
+        given()
+                .accept("*/*")
+                .pathParam("userId", userId)
+                .when()
+                .get()
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .contentType(ContentType.JSON)
+                .body("followersCount", Matchers.is(1));
+    }
+
+    @Test
+    @DisplayName("should return 400 on list user followers with an invalid cursor")
+    public void invalidCursorWhenListingFollowersTest(){
+        given()
+                .pathParam("userId", userId)
+                .queryParam("cursor", "not-a-cursor")
+                .when()
+                .get()
+                .then()
+                .statusCode(Response.Status.BAD_REQUEST.getStatusCode());
     }
 
     @Test
@@ -169,4 +257,76 @@ class FollowerResourceTest {
                 .then()
                 .statusCode(Response.Status.NO_CONTENT.getStatusCode());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("should answer 304 on list followers until someone unfollows")
+    public void listingFollowersNotModifiedTest(){
+        String etag = given()
+                .pathParam("userId", userId)
+                .when()
+                .get()
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .extract().header("ETag");
+        assertNotNull(etag);
+
+        given()
+                .pathParam("userId", userId)
+                .header("If-None-Match", etag)
+                .when()
+                .get()
+                .then()
+                .statusCode(Response.Status.NOT_MODIFIED.getStatusCode());
+
+        given()
+                .pathParam("userId", userId)
+                .queryParam("followerId", followerId)
+                .when()
+                .delete()
+                .then()
+                .statusCode(Response.Status.NO_CONTENT.getStatusCode());
+
+        given()
+                .pathParam("userId", userId)
+                .header("If-None-Match", etag)
+                .when()
+                .get()
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .body("followersCount", Matchers.is(0));
+    }
+
+    @Test
+    @DisplayName("should tag the JSON and CBOR follower lists differently")
+    public void listingFollowersTagPerRepresentationTest(){
+        String etag = given()
+                .pathParam("userId", userId)
+                .when()
+                .get()
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .extract().header("ETag");
+
+        given()
+                .pathParam("userId", userId)
+                .accept("application/cbor")
+                .header("If-None-Match", etag)
+                .when()
+                .get()
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .header("ETag", Matchers.not(etag));
+    }
+
+    @Test
+    @DisplayName("should return 404 on list followers of an inexistent user even with a wildcard tag")
+    public void listingFollowersInexistentUserConditionalTest(){
+        given()
+                .pathParam("userId", 999)
+                .header("If-None-Match", "*")
+                .when()
+                .get()
+                .then()
+                .statusCode(Response.Status.NOT_FOUND.getStatusCode());
+    }
+}
@@ -0,0 +1,31 @@
+package io.github.wellpereiradevs.quarkussocial.rest;
+
+import io.quarkus.test.junit.QuarkusTest;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+
+@QuarkusTest
+class MetricsEndpointTest {
+
+    @Test
+    @DisplayName("should expose endpoint latency histograms in Prometheus format")
+    public void httpHistogramTest() {
+        given()
+                .when()
+                .get("/users/999/followers")
+                .then()
+                .statusCode(404);
+
+        given()
+                .when()
+                .get("/q/metrics")
+                .then()
+                .statusCode(200)
+                .body(Matchers.containsString("http_server_requests_seconds_bucket"))
+                .body(Matchers.containsString("status=\"404\""))
+                .body(Matchers.containsString("uri=\"/users/{userId}/followers\""));
+    }
+}
@@ -0,0 +1,64 @@
+package io.github.wellpereiradevs.quarkussocial.rest;
+
+import io.github.wellpereiradevs.quarkussocial.domain.model.User;
+import io.github.wellpereiradevs.quarkussocial.domain.repository.PostRepository;
+import io.github.wellpereiradevs.quarkussocial.domain.repository.UserRepository;
+import io.quarkus.test.common.http.TestHTTPEndpoint;
+import io.quarkus.test.junit.QuarkusTest;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.inject.Inject;
+import javax.transaction.Transactional;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+@TestHTTPEndpoint(PostIngestResource.class)
+class PostIngestResourceTest {
+
+    @Inject
+    UserRepository userRepository;
+
+    @Inject
+    PostRepository postRepository;
+
+    Long userId;
+
+    @BeforeEach
+    @Transactional
+    void setUp() {
+        var user = new User();
+        user.setAge(30);
+        user.setName("Fulano");
+        userRepository.persist(user);
+        userId = user.getId();
+    }
+
+    @Test
+    @DisplayName("should store valid lines and report the invalid ones")
+    public void ingestTest() {
+        String body = "{\"userId\":" + userId + ",\"text\":\"First\",\"dateTime\":\"2021-10-17T10:15:30\"}\n" +
+                "{\"userId\":" + userId + ",\"text\":\"Second\"}\n" +
+                "\n" +
+                "{\"userId\":999,\"text\":\"Nobody\"}\n" +
+                "not json\n" +
+                "{\"userId\":" + userId + "}\n";
+
+        given()
+                .contentType(PostIngestResource.APPLICATION_NDJSON)
+                .body(body)
+                .when()
+                .post()
+                .then()
+                .statusCode(200)
+                .body("accepted", Matchers.is(2))
+                .body("rejected", Matchers.is(3))
+                .body("failures.field", Matchers.contains("line 4", "line 5", "line 6"));
+
+        assertEquals(2, postRepository.count("user.id", userId));
+    }
+}
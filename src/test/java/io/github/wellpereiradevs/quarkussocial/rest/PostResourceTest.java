@@ -163,6 +163,21 @@ class PostResourceTest {
                 .body(Matchers.is("You can't see these posts."));
     }
 
+    @Test
+    @DisplayName("should return error messages as plain text when CBOR is requested")
+    public void listPostErrorAsPlainTextForCborTest() {
+        given()
+                .pathParam("userId", userId)
+                .header("followerId", userNotFollowerId)
+                .accept("application/cbor")
+                .when()
+                .get()
+                .then()
+                .statusCode(403)
+                .contentType(Matchers.startsWith("text/plain"))
+                .body(Matchers.is("You can't see these posts."));
+    }
+
     @Test
     @DisplayName("should list posts")
     public void listPostsTest() {
@@ -173,6 +188,107 @@ class PostResourceTest {
                 .get()
                 .then()
                 .statusCode(200)
-                .body("size()", Matchers.is(1));
+                .body("content.size()", Matchers.is(1));
+    }
+
+    @Test
+    @DisplayName("should page through posts using the next cursor")
+    public void listPostsPaginationTest() {
+        var postRequest = new CreatePostRequest();
+        postRequest.setText("Another text");
+        for (int i = 0; i < 2; i++) {
+            given()
+                    .contentType(ContentType.JSON)
+                    .body(postRequest)
+                    .pathParam("userId", userId)
+                    .when()
+                    .post()
+                    .then()
+                    .statusCode(201);
+        }
+
+        var firstPage = given()
+                .pathParam("userId", userId)
+                .header("followerId", userFollowerId)
+                .queryParam("limit", 2)
+                .when()
+                .get()
+                .then()
+                .statusCode(200)
+                .body("content.size()", Matchers.is(2))
+                .extract().response();
+
+        String next = firstPage.jsonPath().getString("next");
+        assertNotNull(next);
+
+        given()
+                .pathParam("userId", userId)
+                .header("followerId", userFollowerId)
+                .queryParam("limit", 2)
+                .queryParam("cursor", next)
+                .when()
+                .get()
+                .then()
+                .statusCode(200)
+                .body("content.size()", Matchers.is(1))
+                .body("next", Matchers.nullValue());
+    }
+
+    @Test
+    @DisplayName("should return 400 when the cursor is invalid")
+    public void listPostsInvalidCursorTest() {
+        given()
+                .pathParam("userId", userId)
+                .header("followerId", userFollowerId)
+                .queryParam("cursor", "not-a-cursor")
+                .when()
+                .get()
+                .then()
+                .statusCode(400)
+                .body(Matchers.is("Invalid cursor"));
+    }
+
+    @Test
+    @DisplayName("should answer 304 while the user's posts are unchanged")
+    public void listPostsNotModifiedTest() {
+        String etag = given()
+                .pathParam("userId", userId)
+                .header("followerId", userFollowerId)
+                .when()
+                .get()
+                .then()
+                .statusCode(200)
+                .extract().header("ETag");
+        assertNotNull(etag);
+
+        given()
+                .pathParam("userId", userId)
+                .header("followerId", userFollowerId)
+                .header("If-None-Match", etag)
+                .when()
+                .get()
+                .then()
+                .statusCode(304);
+
+        var postRequest = new CreatePostRequest();
+        postRequest.setText("Fresh");
+        given()
+                .contentType(ContentType.JSON)
+                .body(postRequest)
+                .pathParam("userId", userId)
+                .when()
+                .post()
+                .then()
+                .statusCode(201);
+
+        given()
+                .pathParam("userId", userId)
+                .header("followerId", userFollowerId)
+                .header("If-None-Match", etag)
+                .when()
+                .get()
+                .then()
+                .statusCode(200)
+                .body("content.size()", Matchers.is(2));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,157 @@
+package io.github.wellpereiradevs.quarkussocial.rest;
+
+import io.github.wellpereiradevs.quarkussocial.domain.model.Follower;
+import io.github.wellpereiradevs.quarkussocial.domain.model.Post;
+import io.github.wellpereiradevs.quarkussocial.domain.model.User;
+import io.github.wellpereiradevs.quarkussocial.domain.repository.FollowerRepository;
+import io.github.wellpereiradevs.quarkussocial.domain.repository.PostRepository;
+import io.github.wellpereiradevs.quarkussocial.domain.repository.UserRepository;
+import io.quarkus.test.common.http.TestHTTPEndpoint;
+import io.quarkus.test.junit.QuarkusTest;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.inject.Inject;
+import javax.transaction.Transactional;
+import java.time.LocalDateTime;
+
+import static io.restassured.RestAssured.given;
+
+@QuarkusTest
+@TestHTTPEndpoint(PostSearchResource.class)
+class PostSearchResourceTest {
+
+    @Inject
+    UserRepository userRepository;
+
+    @Inject
+    FollowerRepository followerRepository;
+
+    @Inject
+    PostRepository postRepository;
+
+    Long followerId;
+
+    @BeforeEach
+    @Transactional
+    void setUp() {
+        var author = newUser("Fulano");
+        var stranger = newUser("Ciclano");
+        var follower = newUser("Beltrano");
+        followerId = follower.getId();
+
+        var follow = new Follower();
+        follow.setUser(author);
+        follow.setFollower(follower);
+        followerRepository.persist(follow);
+
+        var now = LocalDateTime.now();
+        newPost(author, "Quarkus starts fast", now.minusMinutes(3));
+        newPost(author, "Olá mundo Quarkus", now.minusMinutes(2));
+        newPost(author, "Fast cars", now.minusMinutes(1));
+        newPost(stranger, "Quarkus from a stranger", now);
+    }
+
+    private User newUser(String name) {
+        var user = new User();
+        user.setAge(30);
+        user.setName(name);
+        userRepository.persist(user);
+        return user;
+    }
+
+    private void newPost(User user, String text, LocalDateTime dateTime) {
+        var post = new Post();
+        post.setUser(user);
+        post.setText(text);
+        post.setDateTime(dateTime);
+        postRepository.persist(post);
+    }
+
+    @Test
+    @DisplayName("should find posts of followed users only, newest first")
+    public void searchTermTest() {
+        given()
+                .header("followerId", followerId)
+                .queryParam("q", "quarkus")
+                .when()
+                .get()
+                .then()
+                .statusCode(200)
+                .body("content.size()", Matchers.is(2))
+                .body("content[0].text", Matchers.is("Olá mundo Quarkus"))
+                .body("content[1].text", Matchers.is("Quarkus starts fast"));
+    }
+
+    @Test
+    @DisplayName("should require every term and match quoted phrases")
+    public void searchAndPhraseTest() {
+        given()
+                .header("followerId", followerId)
+                .queryParam("q", "fast quarkus")
+                .when()
+                .get()
+                .then()
+                .statusCode(200)
+                .body("content.size()", Matchers.is(1));
+
+        given()
+                .header("followerId", followerId)
+                .queryParam("q", "\"ola mundo\"")
+                .when()
+                .get()
+                .then()
+                .statusCode(200)
+                .body("content.size()", Matchers.is(1))
+                .body("content[0].text", Matchers.is("Olá mundo Quarkus"));
+
+        given()
+                .header("followerId", followerId)
+                .queryParam("q", "\"mundo ola\"")
+                .when()
+                .get()
+                .then()
+                .statusCode(200)
+                .body("content.size()", Matchers.is(0));
+    }
+
+    @Test
+    @DisplayName("should page through results using the next cursor")
+    public void searchPaginationTest() {
+        String next = given()
+                .header("followerId", followerId)
+                .queryParam("q", "quarkus")
+                .queryParam("limit", 1)
+                .when()
+                .get()
+                .then()
+                .statusCode(200)
+                .body("content.size()", Matchers.is(1))
+                .extract().jsonPath().getString("next");
+
+        given()
+                .header("followerId", followerId)
+                .queryParam("q", "quarkus")
+                .queryParam("limit", 1)
+                .queryParam("cursor", next)
+                .when()
+                .get()
+                .then()
+                .statusCode(200)
+                .body("content[0].text", Matchers.is("Quarkus starts fast"));
+    }
+
+    @Test
+    @DisplayName("should return 400 when the followerId header is missing")
+    public void searchWithoutFollowerTest() {
+        given()
+                .queryParam("q", "quarkus")
+                .when()
+                .get()
+                .then()
+                .statusCode(400)
+                .body(Matchers.is("You forgot the header: followerId"));
+    }
+}
@@ -0,0 +1,95 @@
+package io.github.wellpereiradevs.quarkussocial.rest;
+
+import io.github.wellpereiradevs.quarkussocial.domain.model.User;
+import io.github.wellpereiradevs.quarkussocial.domain.repository.PostRepository;
+import io.github.wellpereiradevs.quarkussocial.domain.repository.UserRepository;
+import io.github.wellpereiradevs.quarkussocial.rest.dto.CreatePostRequest;
+import io.quarkus.test.common.http.TestHTTPEndpoint;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.http.ContentType;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.inject.Inject;
+import javax.transaction.Transactional;
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+@TestProfile(PostWriteBehindTest.WriteBehindProfile.class)
+@TestHTTPEndpoint(PostResource.class)
+class PostWriteBehindTest {
+
+    @Inject
+    UserRepository userRepository;
+
+    @Inject
+    PostRepository postRepository;
+
+    Long userId;
+
+    @BeforeEach
+    @Transactional
+    void setUp() {
+        var user = new User();
+        user.setAge(30);
+        user.setName("Fulano");
+        userRepository.persist(user);
+        userId = user.getId();
+    }
+
+    @Test
+    @DisplayName("should accept a post and write it in the background")
+    public void acceptPostTest() throws InterruptedException {
+        var postRequest = new CreatePostRequest();
+        postRequest.setText("Some text");
+
+        Long postId = given()
+                .contentType(ContentType.JSON)
+                .body(postRequest)
+                .pathParam("userId", userId)
+                .when()
+                .post()
+                .then()
+                .statusCode(202)
+                .body("id", Matchers.notNullValue())
+                .extract().jsonPath().getLong("id");
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (postRepository.findByIdOptional(postId).isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        var post = postRepository.findByIdOptional(postId);
+        assertTrue(post.isPresent());
+        assertEquals("Some text", post.get().getText());
+    }
+
+    @Test
+    @DisplayName("should return 404 when the user doesn't exist")
+    public void postForAnNonexistentUserTest() {
+        var postRequest = new CreatePostRequest();
+        postRequest.setText("Some text");
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(postRequest)
+                .pathParam("userId", 999)
+                .when()
+                .post()
+                .then()
+                .statusCode(404);
+    }
+
+    public static class WriteBehindProfile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("social.posts.write-behind.enabled", "true");
+        }
+    }
+}
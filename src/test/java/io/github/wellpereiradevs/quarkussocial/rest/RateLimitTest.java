@@ -0,0 +1,101 @@
+package io.github.wellpereiradevs.quarkussocial.rest;
+
+import io.github.wellpereiradevs.quarkussocial.domain.model.User;
+import io.github.wellpereiradevs.quarkussocial.domain.repository.UserRepository;
+import io.github.wellpereiradevs.quarkussocial.rest.dto.CreateFollowerRequest;
+import io.github.wellpereiradevs.quarkussocial.rest.dto.CreatePostRequest;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.http.ContentType;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.inject.Inject;
+import javax.transaction.Transactional;
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+@TestProfile(RateLimitTest.StrictLimits.class)
+class RateLimitTest {
+
+    @Inject
+    UserRepository userRepository;
+
+    Long userId;
+    Long followerId;
+
+    @BeforeEach
+    @Transactional
+    void setUp() {
+        var user = new User();
+        user.setAge(30);
+        user.setName("Fulano");
+        userRepository.persist(user);
+        userId = user.getId();
+
+        var follower = new User();
+        follower.setAge(30);
+        follower.setName("Beltrano");
+        userRepository.persist(follower);
+        followerId = follower.getId();
+    }
+
+    @Test
+    @DisplayName("should return 429 with Retry-After once a user exceeds the post limit")
+    public void savePostLimitTest() {
+        var postRequest = new CreatePostRequest();
+        postRequest.setText("Some text");
+
+        var response = given()
+                .contentType(ContentType.JSON)
+                .body(postRequest)
+                .pathParam("userId", userId);
+        for (int i = 0; i < 10; i++) {
+            var result = response.when().post("/users/{userId}/posts");
+            if (result.statusCode() == 429) {
+                result.then().header("Retry-After", Matchers.notNullValue());
+                return;
+            }
+            result.then().statusCode(201);
+        }
+        fail("expected a 429 within 10 posts");
+    }
+
+    @Test
+    @DisplayName("should limit follows per follower, not per followed user")
+    public void followUserLimitTest() {
+        var body = new CreateFollowerRequest();
+        body.setFollowerId(followerId);
+
+        var request = given()
+                .contentType(ContentType.JSON)
+                .body(body)
+                .pathParam("userId", userId);
+        for (int i = 0; i < 10; i++) {
+            int status = request.when().put("/users/{userId}/followers").statusCode();
+            if (status == 429) {
+                return;
+            }
+            assertEquals(204, status);
+        }
+        fail("expected a 429 within 10 follows");
+    }
+
+    public static class StrictLimits implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                    "social.rate-limit.enabled", "true",
+                    "social.rate-limit.save-post.permits-per-second", "1",
+                    "social.rate-limit.save-post.burst", "2",
+                    "social.rate-limit.follow-user.permits-per-second", "1",
+                    "social.rate-limit.follow-user.burst", "2");
+        }
+    }
+}
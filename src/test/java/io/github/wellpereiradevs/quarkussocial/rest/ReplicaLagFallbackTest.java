@@ -0,0 +1,82 @@
+package io.github.wellpereiradevs.quarkussocial.rest;
+
+import io.github.wellpereiradevs.quarkussocial.domain.model.User;
+import io.github.wellpereiradevs.quarkussocial.domain.repository.UserRepository;
+import io.github.wellpereiradevs.quarkussocial.replica.ReplicaLagMonitor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.inject.Inject;
+import javax.transaction.Transactional;
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Points the replica at a second, empty in-memory database that never receives the
+ * primary's heartbeat, so it always looks lagging.
+ */
+@QuarkusTest
+@TestProfile(ReplicaLagFallbackTest.DetachedReplicaProfile.class)
+class ReplicaLagFallbackTest {
+
+    @Inject
+    UserRepository userRepository;
+
+    @Inject
+    ReplicaLagMonitor lagMonitor;
+
+    @Inject
+    MeterRegistry registry;
+
+    String name;
+
+    @BeforeEach
+    @Transactional
+    void setUp() {
+        name = "Beltrano" + System.nanoTime();
+        var user = new User();
+        user.setAge(30);
+        user.setName(name);
+        userRepository.persist(user);
+    }
+
+    @Test
+    @DisplayName("should read from the primary while the replica lags")
+    public void fallbackTest() {
+        assertTrue(lagMonitor.isLagging());
+        double replicaBefore = reads("replica");
+        double primaryBefore = reads("primary");
+
+        given()
+                .queryParam("limit", 100)
+                .when()
+                .get("/users")
+                .then()
+                .statusCode(200)
+                .body("content.name", Matchers.hasItem(name));
+
+        assertEquals(replicaBefore, reads("replica"));
+        assertEquals(primaryBefore + 1, reads("primary"));
+    }
+
+    private double reads(String target) {
+        return registry.counter("social.replica.reads", "target", target).count();
+    }
+
+    public static class DetachedReplicaProfile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                    "quarkus.datasource.\"replica\".jdbc.url", "jdbc:h2:mem:social-replica;MODE=PostgreSQL",
+                    "social.replica.read-your-writes", "PT0S");
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package io.github.wellpereiradevs.quarkussocial.rest;
+
+import io.github.wellpereiradevs.quarkussocial.domain.model.Follower;
+import io.github.wellpereiradevs.quarkussocial.domain.model.Post;
+import io.github.wellpereiradevs.quarkussocial.domain.model.User;
+import io.github.wellpereiradevs.quarkussocial.domain.repository.FollowerRepository;
+import io.github.wellpereiradevs.quarkussocial.domain.repository.PostRepository;
+import io.github.wellpereiradevs.quarkussocial.domain.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.test.common.http.TestHTTPEndpoint;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.inject.Inject;
+import javax.transaction.Transactional;
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The test replica datasource points at the same in-memory database as the primary,
+ * so both sides always hold the same rows and only the routing is observed.
+ */
+@QuarkusTest
+@TestProfile(ReplicaReadTest.ShortWindowProfile.class)
+@TestHTTPEndpoint(PostResource.class)
+class ReplicaReadTest {
+
+    @Inject
+    UserRepository userRepository;
+
+    @Inject
+    FollowerRepository followerRepository;
+
+    @Inject
+    PostRepository postRepository;
+
+    @Inject
+    MeterRegistry registry;
+
+    Long userId;
+    Long followerId;
+
+    @BeforeEach
+    @Transactional
+    void setUp() {
+        var user = new User();
+        user.setAge(30);
+        user.setName("Fulano");
+        userRepository.persist(user);
+        userId = user.getId();
+
+        var follower = new User();
+        follower.setAge(31);
+        follower.setName("Cicrano");
+        userRepository.persist(follower);
+        followerId = follower.getId();
+
+        var followerEntity = new Follower();
+        followerEntity.setUser(user);
+        followerEntity.setFollower(follower);
+        followerRepository.persist(followerEntity);
+
+        var post = new Post();
+        post.setText("Hello");
+        post.setUser(user);
+        postRepository.persist(post);
+    }
+
+    @Test
+    @DisplayName("should read a user's own writes from the primary and later reads from the replica")
+    public void readYourWritesTest() throws InterruptedException {
+        double replicaBefore = reads("replica");
+        double primaryBefore = reads("primary");
+
+        listPosts();
+        assertEquals(primaryBefore + 1, reads("primary"));
+        assertEquals(replicaBefore, reads("replica"));
+
+        Thread.sleep(400);
+
+        listPosts();
+        assertEquals(replicaBefore + 1, reads("replica"));
+    }
+
+    private void listPosts() {
+        given()
+                .pathParam("userId", userId)
+                .header("followerId", followerId)
+                .when()
+                .get()
+                .then()
+                .statusCode(200)
+                .body("content.size()", Matchers.is(1))
+                .body("content[0].text", Matchers.is("Hello"));
+    }
+
+    private double reads(String target) {
+        return registry.counter("social.replica.reads", "target", target).count();
+    }
+
+    public static class ShortWindowProfile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("social.replica.read-your-writes", "PT0.3S");
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package io.github.wellpereiradevs.quarkussocial.rest;
+
+import io.github.wellpereiradevs.quarkussocial.domain.graph.FollowGraph;
+import io.github.wellpereiradevs.quarkussocial.domain.model.User;
+import io.github.wellpereiradevs.quarkussocial.domain.repository.FollowerRepository;
+import io.github.wellpereiradevs.quarkussocial.domain.repository.UserRepository;
+import io.github.wellpereiradevs.quarkussocial.rest.dto.CreateFollowerRequest;
+import io.github.wellpereiradevs.quarkussocial.rest.dto.CreatePostRequest;
+import io.github.wellpereiradevs.quarkussocial.shard.Shards;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.http.ContentType;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.inject.Inject;
+import javax.transaction.Transactional;
+import javax.transaction.UserTransaction;
+import javax.ws.rs.core.Response;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the API over the two in-memory H2 shards of the test profile.
+ */
+@QuarkusTest
+@TestProfile(ShardingTest.TwoShardsProfile.class)
+class ShardingTest {
+
+    @Inject
+    UserRepository userRepository;
+
+    @Inject
+    FollowerRepository followerRepository;
+
+    @Inject
+    FollowGraph followGraph;
+
+    @Inject
+    UserTransaction transaction;
+
+    @Inject
+    Shards shards;
+
+    Long userId;
+    Long followerId;
+
+    @BeforeEach
+    @Transactional
+    void setUp() {
+        var user = new User();
+        user.setAge(30);
+        user.setName("Fulano");
+        userRepository.persist(user);
+        userId = user.getId();
+
+        var follower = new User();
+        follower.setAge(31);
+        follower.setName("Cicrano");
+        userRepository.persist(follower);
+        followerId = follower.getId();
+    }
+
+    @Test
+    @DisplayName("should place consecutive users on different shards and find them by id")
+    public void usersAreSpreadOverShardsTest() {
+        assertNotEquals(shards.shardOf(userId), shards.shardOf(followerId));
+        assertEquals(1, count(shards.shardOf(userId), "select count(*) from users where id = " + userId));
+        assertEquals(0, count(shards.shardOf(followerId), "select count(*) from users where id = " + userId));
+        assertEquals("Cicrano", userRepository.findById(followerId).getName());
+    }
+
+    @Test
+    @DisplayName("should merge user pages from every shard in id order")
+    public void listingUsersAcrossShardsTest() {
+        List<Integer> ids = given()
+                .queryParam("limit", 100)
+                .when()
+                .get("/users")
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .extract().jsonPath().getList("content.id", Integer.class);
+
+        assertTrue(ids.contains(userId.intValue()));
+        assertTrue(ids.contains(followerId.intValue()));
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(ids.get(i - 1) < ids.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("should store a follow on both shards and show the author's posts to the follower")
+    public void followAndReadPostsAcrossShardsTest() {
+        var follow = new CreateFollowerRequest();
+        follow.setFollowerId(followerId);
+        given()
+                .contentType(ContentType.JSON)
+                .body(follow)
+                .when()
+                .put("/users/{userId}/followers", userId)
+                .then()
+                .statusCode(Response.Status.NO_CONTENT.getStatusCode());
+
+        String edge = "select count(*) from followers where user_id = " + userId + " and follower_id = " + followerId;
+        assertEquals(1, count(shards.shardOf(userId), edge));
+        assertEquals(1, count(shards.shardOf(followerId), edge));
+
+        var post = new CreatePostRequest();
+        post.setText("Hello from a shard");
+        given()
+                .contentType(ContentType.JSON)
+                .body(post)
+                .when()
+                .post("/users/{userId}/posts", userId)
+                .then()
+                .statusCode(Response.Status.CREATED.getStatusCode());
+        assertEquals(1, count(shards.shardOf(userId), "select count(*) from posts where user_id = " + userId));
+
+        given()
+                .header("followerId", followerId)
+                .when()
+                .get("/users/{userId}/posts", userId)
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .body("content.size()", Matchers.is(1))
+                .body("content[0].text", Matchers.is("Hello from a shard"));
+
+        given()
+                .when()
+                .get("/users/{userId}/followers", userId)
+                .then()
+                .statusCode(Response.Status.OK.getStatusCode())
+                .body("followersCount", Matchers.is(1))
+                .body("content[0].name", Matchers.is("Cicrano"));
+
+        given()
+                .queryParam("followerId", followerId)
+                .when()
+                .delete("/users/{userId}/followers", userId)
+                .then()
+                .statusCode(Response.Status.NO_CONTENT.getStatusCode());
+
+        assertEquals(0, count(shards.shardOf(userId), edge));
+        assertEquals(0, count(shards.shardOf(followerId), edge));
+        given()
+                .header("followerId", followerId)
+                .when()
+                .get("/users/{userId}/posts", userId)
+                .then()
+                .statusCode(Response.Status.FORBIDDEN.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("should keep the follow graph in step with a shard write whose transaction rolls back")
+    public void rolledBackTransactionTest() throws Exception {
+        transaction.begin();
+        try {
+            assertTrue(followerRepository.followIfAbsent(userId, followerId));
+        } finally {
+            transaction.rollback();
+        }
+
+        String edge = "select count(*) from followers where user_id = " + userId + " and follower_id = " + followerId;
+        assertEquals(1, count(shards.shardOf(userId), edge));
+        assertTrue(followGraph.follows(followerId, userId));
+    }
+
+    @Test
+    @DisplayName("should return 400 when the follower of a post listing exists on no shard")
+    public void nonexistentFollowerTest() {
+        given()
+                .header("followerId", 999)
+                .when()
+                .get("/users/{userId}/posts", userId)
+                .then()
+                .statusCode(Response.Status.BAD_REQUEST.getStatusCode())
+                .body(Matchers.is("Nonexistent followerId"));
+    }
+
+    private long count(int shard, String sql) {
+        return shards.onShard(shard, connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql);
+                 ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getLong(1);
+            }
+        });
+    }
+
+    public static class TwoShardsProfile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("social.shards.count", "2");
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package io.github.wellpereiradevs.quarkussocial.rest;
+
+import io.github.wellpereiradevs.quarkussocial.domain.model.Follower;
+import io.github.wellpereiradevs.quarkussocial.domain.model.User;
+import io.github.wellpereiradevs.quarkussocial.domain.repository.FollowerRepository;
+import io.github.wellpereiradevs.quarkussocial.domain.repository.UserRepository;
+import io.github.wellpereiradevs.quarkussocial.rest.dto.CreateFollowerRequest;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.inject.Inject;
+import javax.transaction.Transactional;
+
+import static io.restassured.RestAssured.given;
+
+@QuarkusTest
+class SuggestionResourceTest {
+
+    @Inject
+    UserRepository userRepository;
+
+    @Inject
+    FollowerRepository followerRepository;
+
+    Long a;
+    Long b;
+    Long c;
+    Long d;
+
+    @BeforeEach
+    @Transactional
+    void setUp() {
+        var userA = newUser("A");
+        var userB = newUser("B");
+        var userC = newUser("C");
+        var userD = newUser("D");
+        a = userA.getId();
+        b = userB.getId();
+        c = userC.getId();
+        d = userD.getId();
+
+        follow(userA, userB);
+        follow(userA, userC);
+        follow(userB, userD);
+        follow(userC, userD);
+    }
+
+    private User newUser(String name) {
+        var user = new User();
+        user.setAge(30);
+        user.setName(name);
+        userRepository.persist(user);
+        return user;
+    }
+
+    private void follow(User follower, User user) {
+        var followerEntity = new Follower();
+        followerEntity.setFollower(follower);
+        followerEntity.setUser(user);
+        followerRepository.persist(followerEntity);
+    }
+
+    @Test
+    @DisplayName("should suggest users followed by the users one follows")
+    public void suggestionsTest() {
+        given()
+                .pathParam("userId", a)
+                .when()
+                .get("/users/{userId}/suggestions")
+                .then()
+                .statusCode(200)
+                .body("size()", Matchers.is(1))
+                .body("[0].userId", Matchers.is(d.intValue()))
+                .body("[0].name", Matchers.is("D"))
+                .body("[0].mutualCount", Matchers.is(2));
+
+        given()
+                .pathParam("userId", a)
+                .pathParam("otherId", d)
+                .when()
+                .get("/users/{userId}/mutuals/{otherId}")
+                .then()
+                .statusCode(200)
+                .body("count", Matchers.is(2))
+                .body("userIds", Matchers.contains(b.intValue(), c.intValue()));
+    }
+
+    @Test
+    @DisplayName("should stop suggesting a user once followed")
+    public void followedSuggestionTest() {
+        var body = new CreateFollowerRequest();
+        body.setFollowerId(a);
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(body)
+                .pathParam("userId", d)
+                .when()
+                .put("/users/{userId}/followers")
+                .then()
+                .statusCode(204);
+
+        given()
+                .pathParam("userId", a)
+                .when()
+                .get("/users/{userId}/suggestions")
+                .then()
+                .statusCode(200)
+                .body("size()", Matchers.is(0));
+    }
+
+    @Test
+    @DisplayName("should return 404 for a nonexistent user")
+    public void userNotFoundTest() {
+        given()
+                .pathParam("userId", 999)
+                .when()
+                .get("/users/{userId}/suggestions")
+                .then()
+                .statusCode(404);
+
+        given()
+                .pathParam("userId", a)
+                .pathParam("otherId", 999)
+                .when()
+                .get("/users/{userId}/mutuals/{otherId}")
+                .then()
+                .statusCode(404);
+    }
+}
@@ -0,0 +1,77 @@
+package io.github.wellpereiradevs.quarkussocial.rest;
+
+import io.github.wellpereiradevs.quarkussocial.domain.model.Post;
+import io.github.wellpereiradevs.quarkussocial.domain.model.User;
+import io.github.wellpereiradevs.quarkussocial.domain.repository.PostRepository;
+import io.github.wellpereiradevs.quarkussocial.domain.repository.UserRepository;
+import io.quarkus.test.common.http.TestHTTPEndpoint;
+import io.quarkus.test.junit.QuarkusTest;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.inject.Inject;
+import javax.transaction.Transactional;
+
+import static io.restassured.RestAssured.given;
+
+@QuarkusTest
+@TestHTTPEndpoint(TrendResource.class)
+class TrendResourceTest {
+
+    @Inject
+    UserRepository userRepository;
+
+    @Inject
+    PostRepository postRepository;
+
+    String popular;
+    String rare;
+
+    @BeforeEach
+    @Transactional
+    void setUp() {
+        long run = System.nanoTime();
+        popular = "popular" + run;
+        rare = "rare" + run;
+
+        var user = new User();
+        user.setAge(30);
+        user.setName("Fulano");
+        userRepository.persist(user);
+
+        for (String text : new String[]{"#" + popular + " is here", "more #" + popular + " and #" + rare,
+                "#" + popular.toUpperCase() + " #" + popular + " once"}) {
+            var post = new Post();
+            post.setUser(user);
+            post.setText(text);
+            postRepository.persist(post);
+        }
+    }
+
+    @Test
+    @DisplayName("should rank hashtags of recent posts by count")
+    public void trendsTest() {
+        given()
+                .queryParam("window", "1h")
+                .queryParam("limit", 100)
+                .when()
+                .get()
+                .then()
+                .statusCode(200)
+                .body("find { it.hashtag == '" + popular + "' }.count", Matchers.is(3))
+                .body("find { it.hashtag == '" + rare + "' }.count", Matchers.is(1));
+    }
+
+    @Test
+    @DisplayName("should return 400 on an invalid window")
+    public void invalidWindowTest() {
+        given()
+                .queryParam("window", "2d")
+                .when()
+                .get()
+                .then()
+                .statusCode(400);
+    }
+}
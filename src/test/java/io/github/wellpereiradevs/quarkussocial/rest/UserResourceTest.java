@@ -83,4 +83,19 @@ class UserResourceTest {
                 .statusCode(200)
                 .body("size()", Matchers.is(1));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("should list users page by page when a limit is given")
+    @Order(4)
+    public void listUsersPageTest() {
+        given()
+                .contentType(ContentType.JSON)
+                .queryParam("limit", 1)
+                .when()
+                .get(apiURL)
+                .then()
+                .statusCode(200)
+                .body("content.size()", Matchers.is(1))
+                .body("content[0].id", Matchers.notNullValue());
+    }
+}
@@ -0,0 +1,98 @@
+package io.github.wellpereiradevs.quarkussocial.rest.cbor;
+
+import io.github.wellpereiradevs.quarkussocial.rest.dto.PageResponse;
+import io.github.wellpereiradevs.quarkussocial.rest.dto.PostResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CborGeneratorTest {
+
+    @Test
+    @DisplayName("should encode integers and strings like the RFC 8949 examples")
+    public void rfcExamplesTest() throws IOException {
+        assertEquals("00", encode(g -> g.write(0)));
+        assertEquals("17", encode(g -> g.write(23)));
+        assertEquals("1818", encode(g -> g.write(24)));
+        assertEquals("1903e8", encode(g -> g.write(1000)));
+        assertEquals("1a000f4240", encode(g -> g.write(1000000)));
+        assertEquals("1b000000e8d4a51000", encode(g -> g.write(1000000000000L)));
+        assertEquals("20", encode(g -> g.write(-1)));
+        assertEquals("3903e7", encode(g -> g.write(-1000)));
+        assertEquals("3b7fffffffffffffff", encode(g -> g.write(Long.MIN_VALUE)));
+        assertEquals("6449455446", encode(g -> g.write("IETF")));
+        assertEquals("62c3bc", encode(g -> g.write("ü")));
+        assertEquals("f6", encode(g -> g.write((String) null)));
+        assertEquals("9f0102ff", encode(g -> g.writeStartArray().write(1).write(2).writeEnd()));
+    }
+
+    @Test
+    @DisplayName("should encode a page of posts with epoch millis and without null fields")
+    public void pageTest() throws IOException {
+        var post = new PostResponse();
+        post.setText("a");
+        post.setDateTime(LocalDateTime.ofInstant(Instant.ofEpochSecond(1), ZoneId.systemDefault()));
+
+        String encoded = encode(g -> CborMessageBodyWriter.writeValue(g, PageResponse.of(List.of(post), null)));
+
+        // {_ "content": [{_ "dateTime": 1000, "text": "a"}]}
+        assertEquals("bf67636f6e74656e7481bf686461746554696d651903e864746578746161ffff", encoded);
+    }
+
+    @Test
+    @DisplayName("should only take collections whose element type it can encode")
+    public void writeableCollectionsTest() throws NoSuchFieldException {
+        var writer = new CborMessageBodyWriter();
+        Type posts = Samples.class.getDeclaredField("posts").getGenericType();
+        Type objects = Samples.class.getDeclaredField("objects").getGenericType();
+        assertTrue(writer.isWriteable(List.class, posts, new Annotation[0], CborMessageBodyWriter.APPLICATION_CBOR_TYPE));
+        assertFalse(writer.isWriteable(List.class, objects, new Annotation[0], CborMessageBodyWriter.APPLICATION_CBOR_TYPE));
+        assertFalse(writer.isWriteable(List.class, List.class, new Annotation[0], CborMessageBodyWriter.APPLICATION_CBOR_TYPE));
+    }
+
+    @Test
+    @DisplayName("should flush strings longer than the buffer")
+    public void largeStringTest() throws IOException {
+        String text = "é".repeat(100);
+        var output = new ByteArrayOutputStream();
+        var generator = new CborGenerator(output, 16);
+        generator.write(text);
+        generator.flush();
+
+        byte[] bytes = output.toByteArray();
+        assertEquals(202, bytes.length);
+        assertEquals((byte) 0x78, bytes[0]);
+        assertEquals((byte) 200, bytes[1]);
+    }
+
+    static class Samples {
+        List<PostResponse> posts;
+        List<Object> objects;
+    }
+
+    private static String encode(Encoding encoding) throws IOException {
+        var output = new ByteArrayOutputStream();
+        var generator = new CborGenerator(output, 4);
+        encoding.write(generator);
+        generator.flush();
+        var hex = new StringBuilder();
+        for (byte b : output.toByteArray()) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    private interface Encoding {
+        void write(CborGenerator generator) throws IOException;
+    }
+}
@@ -0,0 +1,140 @@
+package io.github.wellpereiradevs.quarkussocial.rest.json;
+
+import io.github.wellpereiradevs.quarkussocial.rest.dto.FieldError;
+import io.github.wellpereiradevs.quarkussocial.rest.dto.FollowerResponse;
+import io.github.wellpereiradevs.quarkussocial.rest.dto.FollowersPerUseResponse;
+import io.github.wellpereiradevs.quarkussocial.rest.dto.PageResponse;
+import io.github.wellpereiradevs.quarkussocial.rest.dto.PostResponse;
+import io.github.wellpereiradevs.quarkussocial.rest.dto.ResponseError;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.json.bind.Jsonb;
+import javax.json.bind.JsonbBuilder;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpecializedJsonWriterTest {
+
+    private static final String[] TEXTS = {
+            "plain", "", "quote \" and backslash \\ and slash /", "tab\tnew line\ncarriage\rform\fback\b",
+            "control \u0001\u001f end", "acentuação", "日本語", "emoji 😀", "lone \uD83D surrogate", null
+    };
+
+    private static final LocalDateTime[] DATE_TIMES = {
+            LocalDateTime.of(2021, 10, 3, 14, 5, 0),
+            LocalDateTime.of(2021, 10, 3, 0, 0, 0, 100_000_000),
+            LocalDateTime.of(2021, 12, 31, 23, 59, 59, 123_456_789),
+            LocalDateTime.of(1999, 1, 1, 1, 1, 1, 1_000),
+            LocalDateTime.of(10000, 1, 1, 0, 0),
+            null
+    };
+
+    static Jsonb jsonb;
+
+    @BeforeAll
+    static void setUp() {
+        jsonb = JsonbBuilder.create();
+    }
+
+    @AfterAll
+    static void tearDown() throws Exception {
+        jsonb.close();
+    }
+
+    @Test
+    @DisplayName("should write a page of posts byte for byte like JSON-B")
+    public void postPageTest() throws IOException {
+        List<PostResponse> posts = new ArrayList<>();
+        for (String text : TEXTS) {
+            for (LocalDateTime dateTime : DATE_TIMES) {
+                var post = new PostResponse();
+                post.setText(text);
+                post.setDateTime(dateTime);
+                posts.add(post);
+            }
+        }
+        posts.add(null);
+
+        var writer = new PostPageJsonWriter();
+        assertSameJson(PageResponse.of(posts, "next-cursor"), writer::write);
+        assertSameJson(PageResponse.of(List.<PostResponse>of(), null), writer::write);
+        assertSameJson(PageResponse.<PostResponse>of(null, null), writer::write);
+    }
+
+    @Test
+    @DisplayName("should write followers byte for byte like JSON-B")
+    public void followersTest() throws IOException {
+        List<FollowerResponse> followers = new ArrayList<>();
+        for (String name : TEXTS) {
+            followers.add(new FollowerResponse(Long.MAX_VALUE, name));
+            followers.add(new FollowerResponse(-42L, name));
+            followers.add(new FollowerResponse(null, name));
+        }
+        var response = new FollowersPerUseResponse();
+        response.setFollowersCount(followers.size());
+        response.setContent(followers);
+        response.setNext("next-cursor");
+
+        var writer = new FollowersPerUseJsonWriter();
+        assertSameJson(response, writer::write);
+        assertSameJson(new FollowersPerUseResponse(), writer::write);
+    }
+
+    @Test
+    @DisplayName("should write validation errors byte for byte like JSON-B")
+    public void responseErrorTest() throws IOException {
+        List<FieldError> errors = new ArrayList<>();
+        for (String text : TEXTS) {
+            errors.add(new FieldError("users[0].name", text));
+            errors.add(new FieldError(text, "Name is Required"));
+        }
+
+        var writer = new ResponseErrorJsonWriter();
+        assertSameJson(new ResponseError("Validation Error", errors), writer::write);
+        assertSameJson(new ResponseError(null, List.of()), writer::write);
+    }
+
+    @Test
+    @DisplayName("should flush through a buffer smaller than the response")
+    public void smallBufferTest() throws IOException {
+        var output = new JsonOutput(32);
+        var stream = new ByteArrayOutputStream();
+        output.reset(stream);
+        output.writeStartArray();
+        for (int i = 0; i < 100; i++) {
+            output.write("value " + i);
+        }
+        output.writeEndArray();
+        output.flush();
+
+        List<String> values = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            values.add("value " + i);
+        }
+        assertEquals(jsonb.toJson(values), stream.toString(StandardCharsets.UTF_8));
+    }
+
+    private <T> void assertSameJson(T value, Writer<T> writer) throws IOException {
+        var expected = new ByteArrayOutputStream();
+        jsonb.toJson(value, expected);
+        var actual = new ByteArrayOutputStream();
+        writer.write(value, actual);
+        assertArrayEquals(expected.toByteArray(), actual.toByteArray(),
+                () -> "expected " + expected.toString(StandardCharsets.UTF_8)
+                        + "\nbut was  " + actual.toString(StandardCharsets.UTF_8));
+    }
+
+    private interface Writer<T> {
+        void write(T value, java.io.OutputStream stream) throws IOException;
+    }
+}